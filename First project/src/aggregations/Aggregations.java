@@ -0,0 +1,42 @@
+package aggregations;
+
+import collections.FigureCollectionAPI;
+import factories.methods.FigureFactoryAPI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+public class Aggregations {
+    public static <A extends FigureAggregator<A>> A aggregate(FigureFactoryAPI source, A aggregator) {
+        source.forEachFigure(aggregator);
+        return aggregator;
+    }
+
+    // The collection is split evenly and the partial aggregates are merged in the figures order
+    public static <A extends FigureAggregator<A>> A aggregate(FigureCollectionAPI figures,
+                                                              Supplier<A> aggregatorSupplier) {
+        return figures.parallelStream().collect(aggregatorSupplier, A::accept, A::merge);
+    }
+
+    // Every source is aggregated on its own and the partial aggregates are merged in the sources order
+    public static <A extends FigureAggregator<A>> A aggregate(List<? extends FigureFactoryAPI> sources,
+                                                              Supplier<A> aggregatorSupplier,
+                                                              ExecutorService executor) {
+        List<CompletableFuture<A>> partials = new ArrayList<>();
+
+        for (FigureFactoryAPI source : sources) {
+            partials.add(CompletableFuture.supplyAsync(() -> aggregate(source, aggregatorSupplier.get()), executor));
+        }
+
+        A result = aggregatorSupplier.get();
+
+        for (CompletableFuture<A> partial : partials) {
+            result.merge(partial.join());
+        }
+
+        return result;
+    }
+}
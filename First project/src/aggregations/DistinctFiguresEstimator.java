@@ -0,0 +1,88 @@
+package aggregations;
+
+import figures.Figure;
+import figures.FigureType;
+
+// HyperLogLog estimate of the count of distinct figures (equal type and dimensions).
+// With precision p it keeps 2^p one-byte registers and the standard error is about 1.04 / sqrt(2^p).
+public class DistinctFiguresEstimator implements FigureAggregator<DistinctFiguresEstimator> {
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public DistinctFiguresEstimator() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public DistinctFiguresEstimator(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision should be between 4 and 18!");
+        }
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    static long hashOf(Figure figure) {
+        long hash = mix(FigureType.of(figure).ordinal() + 1);
+
+        for (double dimension : FigureType.dimensionsOf(figure)) {
+            hash = mix(hash ^ Double.doubleToLongBits(dimension));
+        }
+
+        return hash;
+    }
+
+    @Override
+    public void accept(Figure figure) {
+        long hash = hashOf(figure);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    @Override
+    public void merge(DistinctFiguresEstimator other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Only estimators with equal precision can be merged!");
+        }
+
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    public long getEstimate() {
+        int registersCount = registers.length;
+        double alpha = 0.7213 / (1 + 1.079 / registersCount);
+        double sum = 0;
+        int zeroRegisters = 0;
+
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+
+            if (register == 0) {
+                zeroRegisters++;
+            }
+        }
+
+        double estimate = alpha * registersCount * registersCount / sum;
+
+        // Linear counting is more precise while many registers are still empty
+        if (estimate <= 2.5 * registersCount && zeroRegisters > 0) {
+            estimate = registersCount * Math.log((double) registersCount / zeroRegisters);
+        }
+
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,11 @@
+package aggregations;
+
+import figures.Figure;
+
+import java.util.function.Consumer;
+
+// One pass, bounded memory summary of a figure source.
+// Partial aggregates of separate chunks can be merged into one.
+public interface FigureAggregator<A extends FigureAggregator<A>> extends Consumer<Figure> {
+    void merge(A other);
+}
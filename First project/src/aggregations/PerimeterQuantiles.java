@@ -0,0 +1,197 @@
+package aggregations;
+
+import figures.Figure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// KLL sketch of the perimeters. Level h holds items which stand for 2^h perimeters each.
+// When the sketch is full the lowest full level is sorted and every second item is promoted,
+// so the memory stays O(k) and the rank error is about 1.7 / k.
+public class PerimeterQuantiles implements FigureAggregator<PerimeterQuantiles> {
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private final int k;
+    private final Random random;
+    private final List<double[]> levels;
+    private final List<Integer> levelSizes;
+    private long count;
+
+    public PerimeterQuantiles() {
+        this(DEFAULT_K);
+    }
+
+    public PerimeterQuantiles(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("K should be at least " + MIN_LEVEL_CAPACITY + "!");
+        }
+
+        this.k = k;
+        this.random = new Random();
+        this.levels = new ArrayList<>();
+        this.levelSizes = new ArrayList<>();
+        this.count = 0;
+
+        addLevel();
+    }
+
+    private void addLevel() {
+        levels.add(new double[k]);
+        levelSizes.add(0);
+    }
+
+    private int levelCapacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int capacity = 0;
+
+        for (int level = 0; level < levels.size(); level++) {
+            capacity += levelCapacity(level);
+        }
+
+        return capacity;
+    }
+
+    private int totalSize() {
+        int size = 0;
+
+        for (int levelSize : levelSizes) {
+            size += levelSize;
+        }
+
+        return size;
+    }
+
+    private void append(int level, double value) {
+        double[] items = levels.get(level);
+        int size = levelSizes.get(level);
+
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+
+        items[size] = value;
+        levelSizes.set(level, size + 1);
+    }
+
+    private void compress() {
+        while (totalSize() > totalCapacity()) {
+            for (int level = 0; level < levels.size(); level++) {
+                if (levelSizes.get(level) >= levelCapacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(int level) {
+        if (level + 1 == levels.size()) {
+            addLevel();
+        }
+
+        double[] items = levels.get(level);
+        int size = levelSizes.get(level);
+        Arrays.sort(items, 0, size);
+
+        // An odd item stays on its level so that the total weight is preserved
+        int compacted = size - (size % 2);
+        for (int i = random.nextInt(2); i < compacted; i += 2) {
+            append(level + 1, items[i]);
+        }
+
+        if (compacted < size) {
+            items[0] = items[size - 1];
+        }
+        levelSizes.set(level, size - compacted);
+    }
+
+    @Override
+    public void accept(Figure figure) {
+        append(0, figure.getPerimeter());
+        count++;
+
+        if (levelSizes.get(0) >= levelCapacity(0)) {
+            compress();
+        }
+    }
+
+    @Override
+    public void merge(PerimeterQuantiles other) {
+        while (levels.size() < other.levels.size()) {
+            addLevel();
+        }
+
+        for (int level = 0; level < other.levels.size(); level++) {
+            double[] items = other.levels.get(level);
+
+            for (int i = 0; i < other.levelSizes.get(level); i++) {
+                append(level, items[i]);
+            }
+        }
+
+        count += other.count;
+        compress();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Returns the perimeter with the given normalized rank, 0 for the minimum and 1 for the maximum
+    public double getQuantile(double rank) {
+        if (rank < 0 || rank > 1) {
+            throw new IllegalArgumentException("Rank should be between 0 and 1!");
+        }
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        int size = totalSize();
+        double[] values = new double[size];
+        long[] weights = new long[size];
+        Integer[] order = new Integer[size];
+        int index = 0;
+
+        for (int level = 0; level < levels.size(); level++) {
+            double[] items = levels.get(level);
+
+            for (int i = 0; i < levelSizes.get(level); i++) {
+                values[index] = items[i];
+                weights[index] = 1L << level;
+                order[index] = index;
+                index++;
+            }
+        }
+
+        Arrays.sort(order, (first, second) -> Double.compare(values[first], values[second]));
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+
+        double targetWeight = rank * totalWeight;
+        long cumulativeWeight = 0;
+
+        for (int i : order) {
+            cumulativeWeight += weights[i];
+
+            if (cumulativeWeight >= targetWeight) {
+                return values[i];
+            }
+        }
+
+        return values[order[size - 1]];
+    }
+}
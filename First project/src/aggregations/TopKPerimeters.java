@@ -0,0 +1,50 @@
+package aggregations;
+
+import figures.Figure;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Keeps the k figures with the largest perimeters in a min-heap of size k
+public class TopKPerimeters implements FigureAggregator<TopKPerimeters> {
+    private static final Comparator<Figure> BY_PERIMETER = Comparator.comparingDouble(Figure::getPerimeter);
+
+    private final int k;
+    private final PriorityQueue<Figure> heap;
+
+    public TopKPerimeters(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("K should be positive!");
+        }
+
+        this.k = k;
+        this.heap = new PriorityQueue<>(k, BY_PERIMETER);
+    }
+
+    @Override
+    public void accept(Figure figure) {
+        if (heap.size() < k) {
+            heap.add(figure);
+        } else if (Double.compare(figure.getPerimeter(), heap.peek().getPerimeter()) > 0) {
+            heap.poll();
+            heap.add(figure);
+        }
+    }
+
+    @Override
+    public void merge(TopKPerimeters other) {
+        for (Figure figure : other.heap) {
+            accept(figure);
+        }
+    }
+
+    // The figures ordered from the largest perimeter
+    public List<Figure> getFigures() {
+        List<Figure> figures = new ArrayList<>(heap);
+        figures.sort(BY_PERIMETER.reversed());
+
+        return figures;
+    }
+}
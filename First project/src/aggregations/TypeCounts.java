@@ -0,0 +1,47 @@
+package aggregations;
+
+import figures.Figure;
+import figures.FigureType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class TypeCounts implements FigureAggregator<TypeCounts> {
+    private final long[] counts = new long[FigureType.values().length];
+
+    @Override
+    public void accept(Figure figure) {
+        counts[FigureType.of(figure).ordinal()]++;
+    }
+
+    @Override
+    public void merge(TypeCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long getCount(FigureType type) {
+        return counts[type.ordinal()];
+    }
+
+    public long getTotal() {
+        long total = 0;
+
+        for (long count : counts) {
+            total += count;
+        }
+
+        return total;
+    }
+
+    public Map<FigureType, Long> getCounts() {
+        Map<FigureType, Long> result = new EnumMap<>(FigureType.class);
+
+        for (FigureType type : FigureType.values()) {
+            result.put(type, counts[type.ordinal()]);
+        }
+
+        return result;
+    }
+}
@@ -1,18 +1,48 @@
 package collections;
 
+import collections.dedup.ToleranceIndex;
+import collections.sorting.ParallelIndexSort;
 import figures.Figure;
+import figures.FigureType;
+import utilities.compression.BlockGzip;
 
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 public class FigureCollection implements FigureCollectionAPI {
+    // Lines starting with this prefix remove the first equal figure read before them
+    public static final String TOMBSTONE_PREFIX = "-";
+
+    private static final String OUTPUT_DIRECTORY = "./resources/output/";
+
     private List<Figure> figures;
+
+    // Set while a snapshot shares the list, the next change copies it first
+    private boolean shared;
+
+    // Changes since the last store of the whole collection or of a delta into storedPath
+    private final List<Figure> addedSinceStore;
+    private final List<Figure> deletedSinceStore;
+    private String storedPath;
+    private int storedTombstones;
+
     public FigureCollection() {
         figures = new ArrayList<>();
+        addedSinceStore = new ArrayList<>();
+        deletedSinceStore = new ArrayList<>();
     }
 
     @Override
@@ -20,21 +50,36 @@ public class FigureCollection implements FigureCollectionAPI {
         return figures.get(index);
     }
 
+    private void ensureExclusive() {
+        if (shared) {
+            figures = new ArrayList<>(figures);
+            shared = false;
+        }
+    }
+
     @Override
     public void add(Figure figureToAdd) {
+        ensureExclusive();
         figures.add(figureToAdd);
+        addedSinceStore.add(figureToAdd);
     }
 
     @Override
     public void addRange(Collection<Figure> figuresToAdd) {
+        ensureExclusive();
         figures.addAll(figuresToAdd);
+        addedSinceStore.addAll(figuresToAdd);
     }
 
     @Override
     public void delete(Figure figureToDelete) {
+        int index = figures.indexOf(figureToDelete);
 
-        figures.remove(figureToDelete);
-        var test = figures;
+        if (index >= 0) {
+            ensureExclusive();
+            figures.remove(index);
+            deletedSinceStore.add(figureToDelete);
+        }
     }
 
     @Override
@@ -50,16 +95,170 @@ public class FigureCollection implements FigureCollectionAPI {
     @Override
     public void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException {
         Figure clone = figureToDuplicate.clone();
+        ensureExclusive();
         figures.add(clone);
+        addedSinceStore.add(clone);
+    }
+
+    @Override
+    public void sort(Comparator<? super Figure> comparator) {
+        Figure[] sorted = figures.toArray(new Figure[0]);
+        Arrays.parallelSort(sorted, comparator);
+
+        reorder(sorted);
+    }
+
+    @Override
+    public void sortByPerimeter() {
+        Figure[] source = figures.toArray(new Figure[0]);
+
+        reorder(source, ParallelIndexSort.sortedIndices(perimetersOf(source)));
+    }
+
+    @Override
+    public void sortByTypeThenPerimeter() {
+        Figure[] source = figures.toArray(new Figure[0]);
+        int[] types = new int[source.length];
+        Arrays.parallelSetAll(types, i -> FigureType.of(source[i]).ordinal());
+
+        int[] order = ParallelIndexSort.sortedIndices(perimetersOf(source));
+        reorder(source, ParallelIndexSort.groupByBucket(order, types, FigureType.values().length));
+    }
+
+    private static double[] perimetersOf(Figure[] source) {
+        double[] perimeters = new double[source.length];
+        Arrays.parallelSetAll(perimeters, i -> source[i].getPerimeter());
+
+        return perimeters;
+    }
+
+    private void reorder(Figure[] source, int[] order) {
+        Figure[] sorted = new Figure[source.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = source[order[i]];
+        }
+
+        reorder(sorted);
+    }
+
+    // The stored file no longer matches the order, so the next incremental store rewrites it
+    private void reorder(Figure[] sorted) {
+        figures = new ArrayList<>(Arrays.asList(sorted));
+        shared = false;
+        storedPath = null;
+    }
+
+    @Override
+    public int deduplicate(double epsilon) {
+        ToleranceIndex index = new ToleranceIndex(epsilon);
+        List<Figure> distinct = new ArrayList<>(figures.size());
+
+        for (Figure figure : figures) {
+            if (index.addIfAbsent(figure)) {
+                distinct.add(figure);
+            }
+        }
+
+        int removed = figures.size() - distinct.size();
+        if (removed > 0) {
+            reorder(distinct.toArray(new Figure[0]));
+        }
+
+        return removed;
+    }
+
+    // Copy-on-write, the snapshot shares the list until the collection changes next time
+    @Override
+    public List<Figure> snapshot() {
+        shared = true;
+
+        return Collections.unmodifiableList(figures);
     }
 
     @Override
     public void storeIntoFile(String path, boolean append) throws FileNotFoundException, IOException {
-        FileOutputStream fos = new FileOutputStream("./resources/output/" + path, append);
+        byte[] content = this.toString().getBytes();
+
+        try (OutputStream os = BlockGzip.newOutputStream(Path.of(OUTPUT_DIRECTORY + path), append,
+            BlockGzip.isCompressed(path))) {
+            os.write(content);
+        }
+
+        if (append) {
+            storedPath = null;
+        } else {
+            markStored(path, 0);
+        }
+    }
+
+    // Appends the figures added and tombstones for the figures deleted since the last store into
+    // the same file. Replaying the file adds every figure in order and removes the first equal one
+    // for each tombstone, which gives the current collection since deletions always take the first
+    // equal figure and additions always go to the end.
+    @Override
+    public void storeIncrementally(String path) throws IOException {
+        Path file = Path.of(OUTPUT_DIRECTORY + path);
+
+        if (!path.equals(storedPath) || !Files.exists(file) ||
+            storedTombstones + deletedSinceStore.size() > figures.size()) {
+            rewrite(file);
+            markStored(path, 0);
+            return;
+        }
+
+        // Nothing changed, an empty append would still add an empty block to a compressed file
+        if (addedSinceStore.isEmpty() && deletedSinceStore.isEmpty()) {
+            return;
+        }
+
+        try (BufferedWriter writer = writerOf(file, true, BlockGzip.isCompressed(path))) {
+            for (Figure figure : addedSinceStore) {
+                writer.write(figure.toString());
+                writer.write('\n');
+            }
+
+            for (Figure figure : deletedSinceStore) {
+                writer.write(TOMBSTONE_PREFIX);
+                writer.write(figure.toString());
+                writer.write('\n');
+            }
+        }
 
-        fos.write(this.toString().getBytes());
+        markStored(path, storedTombstones + deletedSinceStore.size());
+    }
+
+    private void rewrite(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (BufferedWriter writer = writerOf(temporary, false, BlockGzip.isCompressed(file.toString()))) {
+                for (Figure figure : figures) {
+                    writer.write(figure.toString());
+                    writer.write('\n');
+                }
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // Compressed deltas are appended as new blocks, so the file stays readable as a whole
+    private static BufferedWriter writerOf(Path file, boolean append, boolean compressed) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(BlockGzip.newOutputStream(file, append, compressed)));
+    }
 
-        fos.close();
+    private void markStored(String path, int tombstones) {
+        storedPath = path;
+        storedTombstones = tombstones;
+        addedSinceStore.clear();
+        deletedSinceStore.clear();
     }
 
     @Override
@@ -1,12 +1,27 @@
 package collections;
 
+import collections.async.AsyncFigureStore;
+import collections.async.StoreHandle;
 import figures.Figure;
+import figures.FigureType;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface FigureCollectionAPI {
+    // Rough heap size of one figure object together with its formatter
+    long ESTIMATED_FIGURE_BYTES = 1024;
+
     Figure get(int index);
     void add(Figure figureToAdd);
     void addRange(Collection<Figure> figuresToAdd);
@@ -19,4 +34,76 @@ public interface FigureCollectionAPI {
     void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException;
 
     void storeIntoFile(String path, boolean append) throws FileNotFoundException, IOException;
+
+    // Collections without change tracking store the whole collection every time
+    default void storeIncrementally(String path) throws IOException {
+        storeIntoFile(path, false);
+    }
+
+    // Writes a snapshot in the background, later changes of the collection are not stored
+    default StoreHandle storeAsync(String path, boolean append) throws IOException {
+        return AsyncFigureStore.store(snapshot(), Path.of("./resources/output/" + path), append);
+    }
+
+    // Figures as they are now, later changes of the collection do not change the snapshot
+    default List<Figure> snapshot() {
+        List<Figure> figures = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            figures.add(get(i));
+        }
+
+        return figures;
+    }
+
+    // Collections without history can't take a change back and tell so by returning false
+    default boolean undo() {
+        return false;
+    }
+
+    default boolean redo() {
+        return false;
+    }
+
+    // Traverses a snapshot, so the collection can change while a stream runs
+    default Spliterator<Figure> spliterator() {
+        return FigureSpliterator.of(snapshot());
+    }
+
+    default Stream<Figure> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<Figure> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    default long estimateHeapBytes() {
+        return size() * ESTIMATED_FIGURE_BYTES;
+    }
+
+    // Sorts are stable, so equal figures keep their relative order
+    void sort(Comparator<? super Figure> comparator);
+
+    void sortByPerimeter();
+
+    void sortByTypeThenPerimeter();
+
+    // Keeps the first of the figures whose normalized dimensions differ by at most epsilon
+    // and tells how many figures were removed
+    int deduplicate(double epsilon);
+
+    // Every type is present in the result, the figures keep their order inside a type
+    default Map<FigureType, List<Figure>> groupByType() {
+        Map<FigureType, List<Figure>> groups = new EnumMap<>(FigureType.class);
+        for (FigureType type : FigureType.values()) {
+            groups.put(type, new ArrayList<>());
+        }
+
+        for (int i = 0; i < size(); i++) {
+            Figure figure = get(i);
+            groups.get(FigureType.of(figure)).add(figure);
+        }
+
+        return groups;
+    }
 }
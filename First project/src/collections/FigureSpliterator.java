@@ -0,0 +1,81 @@
+package collections;
+
+import figures.Figure;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Splits an index range of a random access source in halves, so every split knows its exact size
+// and parallel streams get evenly balanced tasks without copying the figures.
+public class FigureSpliterator implements Spliterator<Figure> {
+    private static final int BASE_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | NONNULL;
+
+    private final IntFunction<Figure> source;
+    private final int characteristics;
+    private int origin;
+    private final int fence;
+
+    private FigureSpliterator(IntFunction<Figure> source, int origin, int fence, int characteristics) {
+        this.source = source;
+        this.origin = origin;
+        this.fence = fence;
+        this.characteristics = characteristics;
+    }
+
+    // The snapshot never changes, so the spliterator is IMMUTABLE
+    public static FigureSpliterator of(List<Figure> snapshot) {
+        return new FigureSpliterator(snapshot::get, 0, snapshot.size(), BASE_CHARACTERISTICS | IMMUTABLE);
+    }
+
+    // The source should not change while the figures are traversed
+    public static FigureSpliterator of(IntFunction<Figure> source, int size) {
+        return new FigureSpliterator(source, 0, size, BASE_CHARACTERISTICS);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Figure> action) {
+        if (origin >= fence) {
+            return false;
+        }
+
+        action.accept(source.apply(origin++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Figure> action) {
+        int end = fence;
+
+        for (int i = origin; i < end; i++) {
+            action.accept(source.apply(i));
+        }
+
+        origin = end;
+    }
+
+    @Override
+    public Spliterator<Figure> trySplit() {
+        int middle = (origin + fence) >>> 1;
+
+        if (middle <= origin) {
+            return null;
+        }
+
+        FigureSpliterator prefix = new FigureSpliterator(source, origin, middle, characteristics);
+        origin = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,153 @@
+package collections.async;
+
+import figures.Figure;
+import utilities.compression.BlockGzip;
+import utilities.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Writes a snapshot of figures in the background. Every completed write encodes and starts the next chunk,
+// so no thread waits for the disk. Without append the figures go into a temporary file that replaces
+// the target only when everything is written, a failed or cancelled store leaves the target as it was.
+// Targets ending with .gz get every chunk as its own compressed block.
+public class AsyncFigureStore implements CompletionHandler<Integer, ByteBuffer> {
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final List<Figure> snapshot;
+    private final AsynchronousFileChannel channel;
+    private final Path output;
+    private final Path target;
+    private final boolean append;
+    private final boolean compressed;
+    private final StoreHandle handle;
+
+    private int nextFigure;
+    private long position;
+
+    private AsyncFigureStore(List<Figure> snapshot, AsynchronousFileChannel channel, long position, Path output,
+                             Path target, boolean append) {
+        this.snapshot = snapshot;
+        this.channel = channel;
+        this.position = position;
+        this.output = output;
+        this.target = target;
+        this.append = append;
+        this.compressed = BlockGzip.isCompressed(target.toString());
+        this.handle = new StoreHandle(target, snapshot.size());
+        this.nextFigure = 0;
+    }
+
+    public static StoreHandle store(List<Figure> snapshot, Path path, boolean append) throws IOException {
+        Path output = path;
+
+        if (!append) {
+            Path directory = path.toAbsolutePath().getParent();
+            output = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        }
+
+        AsynchronousFileChannel channel = AsynchronousFileChannel.open(output,
+            StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        long position = append ? channel.size() : 0;
+
+        AsyncFigureStore store = new AsyncFigureStore(snapshot, channel, position, output, path, append);
+        store.writeNextChunk();
+
+        return store.handle;
+    }
+
+    private ByteBuffer encodeNextChunk() {
+        StringBuilder sb = new StringBuilder();
+
+        while (nextFigure < snapshot.size() && sb.length() < CHUNK_BYTES) {
+            sb.append(snapshot.get(nextFigure++).toString());
+            sb.append('\n');
+        }
+
+        byte[] chunk = sb.toString().getBytes();
+
+        return ByteBuffer.wrap(compressed && chunk.length > 0 ? BlockGzip.compress(chunk, 0, chunk.length) : chunk);
+    }
+
+    private void writeNextChunk() {
+        if (handle.isCancelled()) {
+            finish(null);
+            return;
+        }
+
+        ByteBuffer chunk;
+        try {
+            chunk = encodeNextChunk();
+        } catch (RuntimeException ex) {
+            finish(ex);
+            return;
+        }
+
+        if (!chunk.hasRemaining()) {
+            finish(null);
+            return;
+        }
+
+        channel.write(chunk, position, chunk, this);
+    }
+
+    @Override
+    public void completed(Integer written, ByteBuffer chunk) {
+        position += written;
+        handle.addBytesWritten(written);
+        MetricsRegistry.global().bytesWritten(written);
+
+        if (chunk.hasRemaining()) {
+            channel.write(chunk, position, chunk, this);
+        } else {
+            writeNextChunk();
+        }
+    }
+
+    @Override
+    public void failed(Throwable cause, ByteBuffer chunk) {
+        finish(cause);
+    }
+
+    private void finish(Throwable cause) {
+        boolean cancelled = cause == null && !handle.startFinishing();
+
+        try {
+            channel.close();
+
+            if (cause == null && !cancelled && !append) {
+                try {
+                    Files.move(output, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(output, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException ex) {
+            cause = cause == null ? ex : cause;
+        } finally {
+            if (!append) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                    // A leftover temporary file only wastes disk space
+                }
+            }
+        }
+
+        if (cancelled) {
+            handle.cancelled();
+        } else if (cause != null) {
+            handle.fail(cause);
+        } else {
+            handle.complete();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package collections.async;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Tracks a background store, the completion future holds the count of written bytes
+public class StoreHandle {
+    private static final int RUNNING = 0;
+    private static final int CANCEL_REQUESTED = 1;
+    private static final int FINISHING = 2;
+
+    private final Path path;
+    private final int figuresCount;
+    private final AtomicLong bytesWritten;
+    private final CompletableFuture<Long> completion;
+    private final AtomicInteger state;
+
+    StoreHandle(Path path, int figuresCount) {
+        this.path = path;
+        this.figuresCount = figuresCount;
+        this.bytesWritten = new AtomicLong();
+        this.completion = new CompletableFuture<>();
+        this.state = new AtomicInteger(RUNNING);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getFiguresCount() {
+        return figuresCount;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    void addBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    boolean isCancelled() {
+        return state.get() == CANCEL_REQUESTED;
+    }
+
+    // Called before the store replaces the target, false when it was cancelled and has to be dropped
+    boolean startFinishing() {
+        return state.compareAndSet(RUNNING, FINISHING);
+    }
+
+    void complete() {
+        completion.complete(bytesWritten.get());
+    }
+
+    void cancelled() {
+        completion.cancel(false);
+    }
+
+    void fail(Throwable cause) {
+        completion.completeExceptionally(cause);
+    }
+
+    public StoreStatus getStatus() {
+        if (!completion.isDone()) {
+            return StoreStatus.RUNNING;
+        } else if (completion.isCancelled()) {
+            return StoreStatus.CANCELLED;
+        } else if (completion.isCompletedExceptionally()) {
+            return StoreStatus.FAILED;
+        }
+
+        return StoreStatus.COMPLETED;
+    }
+
+    // Stops the store before its next write, a cancelled store does not replace the file.
+    // The handle is done only after the write in flight ended and the temporary file was deleted.
+    public boolean cancel() {
+        return state.compareAndSet(RUNNING, CANCEL_REQUESTED);
+    }
+
+    // Waits for the store and gives the written bytes
+    public long await() throws IOException, InterruptedException {
+        try {
+            return completion.get();
+        } catch (ExecutionException ex) {
+            throw asIOException(ex.getCause());
+        } catch (CancellationException ex) {
+            throw new IOException("Store into " + path + " was cancelled!", ex);
+        }
+    }
+
+    public boolean await(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        try {
+            completion.get(timeout, unit);
+            return true;
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (ExecutionException ex) {
+            throw asIOException(ex.getCause());
+        } catch (CancellationException ex) {
+            throw new IOException("Store into " + path + " was cancelled!", ex);
+        }
+    }
+
+    // The listener runs once the store is done, right away when it is done already
+    public void onCompletion(Consumer<StoreHandle> listener) {
+        completion.whenComplete((bytes, cause) -> listener.accept(this));
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException ioException ? ioException : new IOException(cause);
+    }
+
+    @Override
+    public String toString() {
+        return path.getFileName() + " " + getStatus() + " (" + getBytesWritten() + " bytes)";
+    }
+}
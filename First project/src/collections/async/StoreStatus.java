@@ -0,0 +1,9 @@
+package collections.async;
+
+public enum StoreStatus {
+    RUNNING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean isDone() {
+        return this != RUNNING;
+    }
+}
@@ -0,0 +1,105 @@
+package collections.binary;
+
+import exceptions.FigureTypeDoesNotExist;
+import exceptions.ValueOutOfPrecisionRange;
+import figures.Figure;
+import figures.FigureType;
+
+import java.nio.ByteBuffer;
+
+// Fixed-width figure record: <int type> [padding] <dimension> <dimension> <dimension>
+// The record is 32 bytes with DOUBLE precision and 16 bytes with FLOAT or FIXED_POINT precision.
+public class FigureRecordCodec {
+    private static final int TYPE_SIZE = Integer.BYTES;
+
+    private final Precision precision;
+    private final int dimensionsOffset;
+    private final int recordSize;
+
+    public FigureRecordCodec() {
+        this(Precision.DOUBLE);
+    }
+
+    public FigureRecordCodec(Precision precision) {
+        this.precision = precision;
+        this.dimensionsOffset = Math.max(TYPE_SIZE, precision.getDimensionSize());
+        this.recordSize = dimensionsOffset + FigureType.MAX_DIMENSIONS * precision.getDimensionSize();
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    private int dimensionOffset(int offset, int dimension) {
+        return offset + dimensionsOffset + dimension * precision.getDimensionSize();
+    }
+
+    private int positiveDimensionsCount(FigureType type) {
+        return type == FigureType.CIRCLE ? 1 : type.getDimensionsCount();
+    }
+
+    public void write(ByteBuffer buffer, int offset, Figure figure) {
+        FigureType type = FigureType.of(figure);
+        double[] dimensions = FigureType.dimensionsOf(figure);
+
+        // A side or radius which rounds to zero would not be a valid figure when read back
+        for (int i = 0; i < positiveDimensionsCount(type); i++) {
+            if (precision.quantize(dimensions[i]) <= 0) {
+                throw new ValueOutOfPrecisionRange(dimensions[i]);
+            }
+        }
+
+        buffer.putInt(offset, type.ordinal() + 1);
+        for (int i = TYPE_SIZE; i < dimensionsOffset; i++) {
+            buffer.put(offset + i, (byte) 0);
+        }
+
+        for (int i = 0; i < FigureType.MAX_DIMENSIONS; i++) {
+            precision.write(buffer, dimensionOffset(offset, i), dimensions[i]);
+        }
+    }
+
+    public Figure read(ByteBuffer buffer, int offset) {
+        FigureType type = readType(buffer, offset);
+
+        return type.create(readDimension(buffer, offset, 0), readDimension(buffer, offset, 1),
+            readDimension(buffer, offset, 2));
+    }
+
+    public FigureType readType(ByteBuffer buffer, int offset) {
+        int typeCode = buffer.getInt(offset);
+
+        if (typeCode <= 0 || typeCode > FigureType.values().length) {
+            throw new FigureTypeDoesNotExist();
+        }
+
+        return FigureType.values()[typeCode - 1];
+    }
+
+    public double readDimension(ByteBuffer buffer, int offset, int dimension) {
+        return precision.read(buffer, dimensionOffset(offset, dimension));
+    }
+
+    public ByteBuffer encode(Figure figure) {
+        ByteBuffer encoded = ByteBuffer.allocate(recordSize);
+        write(encoded, 0, figure);
+
+        return encoded;
+    }
+
+    // Records are compared word by word, so no figure is materialized while searching.
+    // With a compact precision two figures match when they are equal after quantization.
+    public boolean matches(ByteBuffer buffer, int offset, ByteBuffer encoded) {
+        for (int i = 0; i < recordSize; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != encoded.getLong(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package collections.binary;
+
+import exceptions.ValueOutOfPrecisionRange;
+
+import java.nio.ByteBuffer;
+
+// How a figure dimension is kept in a binary record.
+// DOUBLE is exact.
+// FLOAT keeps 24 significant bits, so the absolute error is at most |value| * 2^-24
+// (below 0.00005 for values up to ~838, and below 0.0006 for values up to 10000).
+// FIXED_POINT keeps the value as an int scaled by 10^4, so the absolute error is at most 0.00005,
+// the same as the rounding of the printed "#.####" format, for values up to +-214748.3647.
+public enum Precision {
+    DOUBLE(Double.BYTES), FLOAT(Float.BYTES), FIXED_POINT(Integer.BYTES);
+
+    public static final double FIXED_POINT_SCALE = 10_000;
+
+    private final int dimensionSize;
+
+    Precision(int dimensionSize) {
+        this.dimensionSize = dimensionSize;
+    }
+
+    public int getDimensionSize() {
+        return dimensionSize;
+    }
+
+    public void write(ByteBuffer buffer, int offset, double value) {
+        switch (this) {
+            case DOUBLE -> buffer.putDouble(offset, value);
+            case FLOAT -> buffer.putFloat(offset, toFloat(value));
+            case FIXED_POINT -> buffer.putInt(offset, toFixedPoint(value));
+        }
+    }
+
+    public double read(ByteBuffer buffer, int offset) {
+        return switch (this) {
+            case DOUBLE -> buffer.getDouble(offset);
+            case FLOAT -> buffer.getFloat(offset);
+            case FIXED_POINT -> buffer.getInt(offset) / FIXED_POINT_SCALE;
+        };
+    }
+
+    public double quantize(double value) {
+        return switch (this) {
+            case DOUBLE -> value;
+            case FLOAT -> toFloat(value);
+            case FIXED_POINT -> toFixedPoint(value) / FIXED_POINT_SCALE;
+        };
+    }
+
+    public double getErrorBound(double value) {
+        return switch (this) {
+            case DOUBLE -> 0;
+            case FLOAT -> Math.abs(value) * 0x1p-24;
+            case FIXED_POINT -> 0.5 / FIXED_POINT_SCALE;
+        };
+    }
+
+    // Values over Float.MAX_VALUE would silently become infinite
+    private static float toFloat(double value) {
+        float single = (float) value;
+
+        if (!Float.isFinite(single)) {
+            throw new ValueOutOfPrecisionRange(value);
+        }
+
+        return single;
+    }
+
+    private static int toFixedPoint(double value) {
+        long scaled = Math.round(value * FIXED_POINT_SCALE);
+
+        if (Double.isNaN(value) || scaled < Integer.MIN_VALUE || scaled > Integer.MAX_VALUE) {
+            throw new ValueOutOfPrecisionRange(value);
+        }
+
+        return (int) scaled;
+    }
+}
@@ -0,0 +1,175 @@
+package collections.dedup;
+
+import collections.FigureCollectionAPI;
+import figures.Figure;
+import figures.FigureType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+
+// Decorates a collection so that figures near an already contained one are not added
+public class DeduplicatingFigureCollection implements FigureCollectionAPI {
+    private final FigureCollectionAPI figures;
+    private final double epsilon;
+    private ToleranceIndex index;
+
+    public DeduplicatingFigureCollection(FigureCollectionAPI figures, double epsilon) {
+        this.figures = figures;
+        this.epsilon = epsilon;
+
+        figures.deduplicate(epsilon);
+        reindex();
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    private void reindex() {
+        index = new ToleranceIndex(epsilon);
+
+        for (int i = 0; i < figures.size(); i++) {
+            index.addIfAbsent(figures.get(i));
+        }
+    }
+
+    @Override
+    public Figure get(int index) {
+        return figures.get(index);
+    }
+
+    @Override
+    public void add(Figure figureToAdd) {
+        if (index.addIfAbsent(figureToAdd)) {
+            figures.add(figureToAdd);
+        }
+    }
+
+    @Override
+    public void addRange(Collection<Figure> figuresToAdd) {
+        for (Figure figure : figuresToAdd) {
+            add(figure);
+        }
+    }
+
+    @Override
+    public void delete(Figure figureToDelete) {
+        int previousSize = figures.size();
+
+        figures.delete(figureToDelete);
+
+        if (figures.size() < previousSize) {
+            index.remove(figureToDelete);
+        }
+    }
+
+    @Override
+    public boolean contains(Figure figure) {
+        return figures.contains(figure);
+    }
+
+    public boolean containsNear(Figure figure) {
+        return index.containsNear(figure);
+    }
+
+    @Override
+    public int size() {
+        return figures.size();
+    }
+
+    // A clone is always near its source, so it is never added
+    @Override
+    public void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException {
+        add(figureToDuplicate.clone());
+    }
+
+    // The wrapped collection goes back to another version, so the index is built again
+    @Override
+    public boolean undo() {
+        if (!figures.undo()) {
+            return false;
+        }
+
+        reindex();
+        return true;
+    }
+
+    @Override
+    public boolean redo() {
+        if (!figures.redo()) {
+            return false;
+        }
+
+        reindex();
+        return true;
+    }
+
+    @Override
+    public List<Figure> snapshot() {
+        return figures.snapshot();
+    }
+
+    @Override
+    public Spliterator<Figure> spliterator() {
+        return figures.spliterator();
+    }
+
+    @Override
+    public long estimateHeapBytes() {
+        return figures.estimateHeapBytes();
+    }
+
+    @Override
+    public void storeIntoFile(String path, boolean append) throws IOException {
+        figures.storeIntoFile(path, append);
+    }
+
+    @Override
+    public void storeIncrementally(String path) throws IOException {
+        figures.storeIncrementally(path);
+    }
+
+    @Override
+    public void sort(Comparator<? super Figure> comparator) {
+        figures.sort(comparator);
+    }
+
+    @Override
+    public void sortByPerimeter() {
+        figures.sortByPerimeter();
+    }
+
+    @Override
+    public void sortByTypeThenPerimeter() {
+        figures.sortByTypeThenPerimeter();
+    }
+
+    // Only a wider epsilon can remove figures, the inserts keep using the epsilon of the collection
+    @Override
+    public int deduplicate(double epsilon) {
+        if (epsilon <= this.epsilon) {
+            return 0;
+        }
+
+        int removed = figures.deduplicate(epsilon);
+        if (removed > 0) {
+            reindex();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public Map<FigureType, List<Figure>> groupByType() {
+        return figures.groupByType();
+    }
+
+    @Override
+    public String toString() {
+        return figures.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package collections.dedup;
+
+import figures.Figure;
+import figures.FigureType;
+
+import java.util.Arrays;
+
+// Finds figures of the same type whose normalized dimensions (sorted sides, radius and center)
+// all differ by at most epsilon. The dimensions are quantized to a grid with cells a few epsilons wide,
+// so only the cells overlapped by the epsilon range around each dimension have to be checked,
+// which is usually the own cell and rarely one neighbour per dimension.
+// Cells are found by a 64-bit hash of their coordinates in an open addressing table and
+// the figures of a cell are chained, hash collisions only cause a few more comparisons.
+public class ToleranceIndex {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final double CELL_WIDTH_IN_EPSILONS = 4;
+    // A free slot never had a cell, a cell whose figures were all removed keeps its slot so the probing still works
+    private static final int FREE = -1;
+    private static final int END = -2;
+    // Cells far from zero are clamped, so the ranges of cells can be walked without the counter overflowing
+    private static final long CELL_LIMIT = 1L << 62;
+
+    private final double epsilon;
+    private final double cellWidth;
+
+    private long[] cellKeys;
+    private int[] cellHeads;
+    private int cellsCount;
+
+    private byte[] types;
+    private double[] dimensions;
+    private int[] next;
+    private int entriesCount;
+
+    private int size;
+
+    public ToleranceIndex(double epsilon) {
+        if (!(epsilon > 0) || Double.isInfinite(epsilon)) {
+            throw new IllegalArgumentException("Epsilon should be a positive number!");
+        }
+
+        this.epsilon = epsilon;
+        this.cellWidth = epsilon * CELL_WIDTH_IN_EPSILONS;
+        this.cellKeys = new long[INITIAL_CAPACITY];
+        this.cellHeads = new int[INITIAL_CAPACITY];
+        Arrays.fill(cellHeads, FREE);
+        this.types = new byte[INITIAL_CAPACITY];
+        this.dimensions = new double[INITIAL_CAPACITY * FigureType.MAX_DIMENSIONS];
+        this.next = new int[INITIAL_CAPACITY];
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private long cellOf(double dimension) {
+        double cell = Math.floor(dimension / cellWidth);
+
+        return (long) Math.max(-CELL_LIMIT, Math.min(CELL_LIMIT, cell));
+    }
+
+    private static long cellKey(int type, long first, long second, long third) {
+        long key = type;
+        key = key * 0x9E3779B97F4A7C15L + first;
+        key = key * 0x9E3779B97F4A7C15L + second;
+        key = key * 0x9E3779B97F4A7C15L + third;
+
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+
+        return key;
+    }
+
+    // Returns the slot of the cell or the empty slot where it should be inserted
+    private int slotOf(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = (int) key & mask;
+
+        while (cellHeads[slot] != FREE && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private boolean isNear(int entry, int type, double first, double second, double third) {
+        int offset = entry * FigureType.MAX_DIMENSIONS;
+
+        return types[entry] == type &&
+            Math.abs(dimensions[offset] - first) <= epsilon &&
+            Math.abs(dimensions[offset + 1] - second) <= epsilon &&
+            Math.abs(dimensions[offset + 2] - third) <= epsilon;
+    }
+
+    public boolean containsNear(Figure figure) {
+        double[] figureDimensions = FigureType.dimensionsOf(figure);
+
+        return containsNear(FigureType.of(figure), figureDimensions[0], figureDimensions[1], figureDimensions[2]);
+    }
+
+    public boolean containsNear(FigureType type, double first, double second, double third) {
+        long thirdFrom = cellOf(third - epsilon);
+        long thirdTo = cellOf(third + epsilon);
+        long secondFrom = cellOf(second - epsilon);
+        long secondTo = cellOf(second + epsilon);
+
+        for (long i = cellOf(first - epsilon); i <= cellOf(first + epsilon); i++) {
+            for (long j = secondFrom; j <= secondTo; j++) {
+                for (long k = thirdFrom; k <= thirdTo; k++) {
+                    int slot = slotOf(cellKey(type.ordinal(), i, j, k));
+
+                    for (int entry = cellHeads[slot]; entry >= 0; entry = next[entry]) {
+                        if (isNear(entry, type.ordinal(), first, second, third)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // Adds the figure only when there is no near figure yet and tells if it was added
+    public boolean addIfAbsent(Figure figure) {
+        double[] figureDimensions = FigureType.dimensionsOf(figure);
+
+        return addIfAbsent(FigureType.of(figure), figureDimensions[0], figureDimensions[1], figureDimensions[2]);
+    }
+
+    public boolean addIfAbsent(FigureType type, double first, double second, double third) {
+        if (containsNear(type, first, second, third)) {
+            return false;
+        }
+
+        add(type, first, second, third);
+
+        return true;
+    }
+
+    public void add(FigureType type, double first, double second, double third) {
+        if (entriesCount == types.length) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            dimensions = Arrays.copyOf(dimensions, capacity * FigureType.MAX_DIMENSIONS);
+            next = Arrays.copyOf(next, capacity);
+        }
+
+        if ((cellsCount + 1) * 2 > cellKeys.length) {
+            rehash();
+        }
+
+        int entry = entriesCount++;
+        int offset = entry * FigureType.MAX_DIMENSIONS;
+        types[entry] = (byte) type.ordinal();
+        dimensions[offset] = first;
+        dimensions[offset + 1] = second;
+        dimensions[offset + 2] = third;
+
+        long key = cellKey(type.ordinal(), cellOf(first), cellOf(second), cellOf(third));
+        int slot = slotOf(key);
+
+        if (cellHeads[slot] == FREE) {
+            cellKeys[slot] = key;
+            cellsCount++;
+            next[entry] = END;
+        } else {
+            next[entry] = cellHeads[slot];
+        }
+        cellHeads[slot] = entry;
+        size++;
+    }
+
+    // Removes a figure with exactly these dimensions, the slot of its entry is not reused
+    public boolean remove(Figure figure) {
+        double[] figureDimensions = FigureType.dimensionsOf(figure);
+        int type = FigureType.of(figure).ordinal();
+
+        int slot = slotOf(cellKey(type, cellOf(figureDimensions[0]), cellOf(figureDimensions[1]),
+            cellOf(figureDimensions[2])));
+        int previous = END;
+
+        for (int entry = cellHeads[slot]; entry >= 0; previous = entry, entry = next[entry]) {
+            int offset = entry * FigureType.MAX_DIMENSIONS;
+
+            if (types[entry] == type &&
+                Double.compare(dimensions[offset], figureDimensions[0]) == 0 &&
+                Double.compare(dimensions[offset + 1], figureDimensions[1]) == 0 &&
+                Double.compare(dimensions[offset + 2], figureDimensions[2]) == 0) {
+                if (previous == END) {
+                    cellHeads[slot] = next[entry];
+                } else {
+                    next[previous] = next[entry];
+                }
+                size--;
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void rehash() {
+        long[] oldKeys = cellKeys;
+        int[] oldHeads = cellHeads;
+
+        cellKeys = new long[oldKeys.length * 2];
+        cellHeads = new int[oldHeads.length * 2];
+        Arrays.fill(cellHeads, FREE);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != FREE) {
+                int slot = slotOf(oldKeys[i]);
+                cellKeys[slot] = oldKeys[i];
+                cellHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package collections.offheap;
+
+import collections.FigureCollectionAPI;
+import collections.FigureSpliterator;
+import collections.binary.FigureRecordCodec;
+import collections.binary.Precision;
+import collections.dedup.ToleranceIndex;
+import collections.sorting.ParallelIndexSort;
+import exceptions.InvalidFigureStoreFile;
+import exceptions.ValueOutOfPrecisionRange;
+import figures.Figure;
+import figures.FigureType;
+import utilities.compression.BlockGzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+
+// Keeps figures as fixed-width records outside of the GC heap, either in direct buffers
+// or in a memory mapped file, and creates figure objects only when they are requested.
+// With a compact precision the figures are read back quantized (see Precision for the error bounds).
+public class OffHeapFigureCollection implements FigureCollectionAPI, AutoCloseable {
+    private static final int MAGIC = 0x46494753;
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int VERSION_OFFSET = 4;
+    private static final int PRECISION_OFFSET = 6;
+    private static final int COUNT_OFFSET = 8;
+
+    public static final int DEFAULT_CHUNK_RECORDS = 1 << 16;
+
+    private final FigureRecordCodec codec;
+    private final int recordSize;
+    private final int chunkRecords;
+    private final List<ByteBuffer> chunks;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    private int size;
+
+    public OffHeapFigureCollection() {
+        this(Precision.DOUBLE, DEFAULT_CHUNK_RECORDS);
+    }
+
+    public OffHeapFigureCollection(int chunkRecords) {
+        this(Precision.DOUBLE, chunkRecords);
+    }
+
+    public OffHeapFigureCollection(Precision precision) {
+        this(precision, DEFAULT_CHUNK_RECORDS);
+    }
+
+    public OffHeapFigureCollection(Precision precision, int chunkRecords) {
+        this(precision, chunkRecords, null, null);
+    }
+
+    private OffHeapFigureCollection(Precision precision, int chunkRecords, FileChannel channel,
+                                    MappedByteBuffer header) {
+        if (chunkRecords <= 0) {
+            throw new IllegalArgumentException("Chunk records count should be positive!");
+        }
+
+        this.codec = new FigureRecordCodec(precision);
+        this.recordSize = codec.getRecordSize();
+        this.chunkRecords = chunkRecords;
+        this.chunks = new ArrayList<>();
+        this.channel = channel;
+        this.header = header;
+        this.size = 0;
+    }
+
+    public static OffHeapFigureCollection open(Path path) throws IOException {
+        return open(path, Precision.DOUBLE, DEFAULT_CHUNK_RECORDS);
+    }
+
+    public static OffHeapFigureCollection open(Path path, Precision precision) throws IOException {
+        return open(path, precision, DEFAULT_CHUNK_RECORDS);
+    }
+
+    // Opens the store in place: the records are mapped back and nothing is parsed.
+    // The precision is used only for a new store, an existing one keeps the precision it was created with.
+    public static OffHeapFigureCollection open(Path path, Precision precision, int chunkRecords)
+        throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            boolean isNew = channel.size() == 0;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+            if (isNew) {
+                header.putInt(0, MAGIC);
+                header.putShort(VERSION_OFFSET, VERSION);
+                header.putShort(PRECISION_OFFSET, (short) precision.ordinal());
+                header.putLong(COUNT_OFFSET, 0);
+            } else if (header.getInt(0) != MAGIC || header.getShort(VERSION_OFFSET) != VERSION ||
+                header.getShort(PRECISION_OFFSET) < 0 ||
+                header.getShort(PRECISION_OFFSET) >= Precision.values().length) {
+                throw new InvalidFigureStoreFile(path.toString());
+            }
+
+            Precision storedPrecision = Precision.values()[header.getShort(PRECISION_OFFSET)];
+            OffHeapFigureCollection collection =
+                new OffHeapFigureCollection(storedPrecision, chunkRecords, channel, header);
+            long storedCount = header.getLong(COUNT_OFFSET);
+
+            if (storedCount < 0 || storedCount > Integer.MAX_VALUE ||
+                HEADER_SIZE + storedCount * collection.recordSize > channel.size()) {
+                throw new InvalidFigureStoreFile(path.toString());
+            }
+
+            while ((long) collection.chunks.size() * chunkRecords < storedCount) {
+                collection.allocateChunk();
+            }
+            collection.size = (int) storedCount;
+
+            return collection;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public Precision getPrecision() {
+        return codec.getPrecision();
+    }
+
+    public boolean isFileBacked() {
+        return channel != null;
+    }
+
+    private void allocateChunk() {
+        int chunkBytes = chunkRecords * recordSize;
+
+        if (channel == null) {
+            chunks.add(ByteBuffer.allocateDirect(chunkBytes));
+            return;
+        }
+
+        long position = HEADER_SIZE + (long) chunks.size() * chunkBytes;
+
+        try {
+            chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ByteBuffer chunkOf(int index) {
+        return chunks.get(index / chunkRecords);
+    }
+
+    private int offsetOf(int index) {
+        return (index % chunkRecords) * recordSize;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+
+        if (header != null) {
+            header.putLong(COUNT_OFFSET, size);
+        }
+    }
+
+    private int indexOf(Figure figure) {
+        ByteBuffer encoded;
+
+        try {
+            encoded = codec.encode(figure);
+        } catch (ValueOutOfPrecisionRange ex) {
+            return -1;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (codec.matches(chunkOf(i), offsetOf(i), encoded)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void copyRecord(int from, int to, byte[] scratch) {
+        chunkOf(from).get(offsetOf(from), scratch, 0, recordSize);
+        chunkOf(to).put(offsetOf(to), scratch, 0, recordSize);
+    }
+
+    @Override
+    public Figure get(int index) {
+        checkIndex(index);
+
+        return codec.read(chunkOf(index), offsetOf(index));
+    }
+
+    @Override
+    public void add(Figure figureToAdd) {
+        if (size == chunks.size() * chunkRecords) {
+            allocateChunk();
+        }
+
+        codec.write(chunkOf(size), offsetOf(size), figureToAdd);
+        setSize(size + 1);
+    }
+
+    @Override
+    public void addRange(Collection<Figure> figuresToAdd) {
+        for (Figure figure : figuresToAdd) {
+            add(figure);
+        }
+    }
+
+    @Override
+    public void delete(Figure figureToDelete) {
+        int index = indexOf(figureToDelete);
+
+        if (index < 0) {
+            return;
+        }
+
+        byte[] scratch = new byte[recordSize];
+
+        for (int i = index + 1; i < size; i++) {
+            copyRecord(i, i - 1, scratch);
+        }
+
+        setSize(size - 1);
+    }
+
+    @Override
+    public boolean contains(Figure figure) {
+        return indexOf(figure) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException {
+        add(figureToDuplicate.clone());
+    }
+
+    @Override
+    public void sort(Comparator<? super Figure> comparator) {
+        Figure[] figures = new Figure[size];
+        Arrays.parallelSetAll(figures, this::get);
+
+        permute(ParallelIndexSort.sortedIndices(size,
+            (first, second) -> comparator.compare(figures[first], figures[second])));
+    }
+
+    @Override
+    public void sortByPerimeter() {
+        permute(ParallelIndexSort.sortedIndices(perimeters()));
+    }
+
+    @Override
+    public void sortByTypeThenPerimeter() {
+        int[] types = new int[size];
+        Arrays.parallelSetAll(types, i -> codec.readType(chunkOf(i), offsetOf(i)).ordinal());
+
+        int[] order = ParallelIndexSort.sortedIndices(perimeters());
+        permute(ParallelIndexSort.groupByBucket(order, types, FigureType.values().length));
+    }
+
+    // Perimeters are computed straight from the records without creating figures
+    private double[] perimeters() {
+        double[] perimeters = new double[size];
+        Arrays.parallelSetAll(perimeters, i -> {
+            ByteBuffer chunk = chunkOf(i);
+            int offset = offsetOf(i);
+
+            return codec.readType(chunk, offset).perimeterOf(codec.readDimension(chunk, offset, 0),
+                codec.readDimension(chunk, offset, 1), codec.readDimension(chunk, offset, 2));
+        });
+
+        return perimeters;
+    }
+
+    // Moves every record once by following the cycles of the permutation, record i receives record order[i]
+    private void permute(int[] order) {
+        BitSet placed = new BitSet(size);
+        byte[] cycleStart = new byte[recordSize];
+        byte[] scratch = new byte[recordSize];
+
+        for (int start = 0; start < size; start++) {
+            if (placed.get(start) || order[start] == start) {
+                continue;
+            }
+
+            chunkOf(start).get(offsetOf(start), cycleStart, 0, recordSize);
+
+            int current = start;
+            while (order[current] != start) {
+                copyRecord(order[current], current, scratch);
+                placed.set(current);
+                current = order[current];
+            }
+
+            chunkOf(current).put(offsetOf(current), cycleStart, 0, recordSize);
+            placed.set(current);
+        }
+    }
+
+    // Distinct records are compacted to the front in their order without creating figures
+    @Override
+    public int deduplicate(double epsilon) {
+        ToleranceIndex index = new ToleranceIndex(epsilon);
+        byte[] scratch = new byte[recordSize];
+        int kept = 0;
+
+        for (int i = 0; i < size; i++) {
+            ByteBuffer chunk = chunkOf(i);
+            int offset = offsetOf(i);
+
+            if (index.addIfAbsent(codec.readType(chunk, offset), codec.readDimension(chunk, offset, 0),
+                codec.readDimension(chunk, offset, 1), codec.readDimension(chunk, offset, 2))) {
+                if (kept != i) {
+                    copyRecord(i, kept, scratch);
+                }
+                kept++;
+            }
+        }
+
+        int removed = size - kept;
+        setSize(kept);
+
+        return removed;
+    }
+
+    @Override
+    public void storeIntoFile(String path, boolean append) throws IOException {
+        try (OutputStream os = BlockGzip.newOutputStream(Path.of("./resources/output/" + path), append,
+            BlockGzip.isCompressed(path))) {
+            for (int i = 0; i < size; i++) {
+                byte[] line = get(i).toString().getBytes();
+                os.write(line);
+                os.write('\n');
+            }
+        }
+    }
+
+    // Records are read with absolute gets, so the splits decode them in parallel without a heap copy.
+    // The collection should not change while the figures are traversed.
+    @Override
+    public Spliterator<Figure> spliterator() {
+        return FigureSpliterator.of(this::get, size);
+    }
+
+    // Records live outside of the heap, only the chunk list is on it
+    @Override
+    public long estimateHeapBytes() {
+        return 0;
+    }
+
+    public void force() {
+        if (header == null) {
+            return;
+        }
+
+        header.force();
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+        }
+        chunks.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            sb.append(get(i).toString());
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
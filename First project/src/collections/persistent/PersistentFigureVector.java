@@ -0,0 +1,356 @@
+package collections.persistent;
+
+import figures.Figure;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+// Immutable sequence of figures kept as a tree of chunks, leaves hold up to 32 figures and branches up to 32
+// children with the running sizes of their children. Every change copies only the nodes on the path to the
+// changed position, so a new version costs O(log n) and shares all other nodes with the previous one.
+public final class PersistentFigureVector implements Iterable<Figure> {
+    static final int BRANCHING = 32;
+    private static final int MERGE_THRESHOLD = BRANCHING / 4;
+
+    private static final PersistentFigureVector EMPTY = new PersistentFigureVector(new Leaf(new Figure[0]));
+
+    private final Node root;
+
+    private interface Node {
+        int size();
+    }
+
+    private record Leaf(Figure[] figures) implements Node {
+        @Override
+        public int size() {
+            return figures.length;
+        }
+    }
+
+    // ends[i] is the count of figures in the children up to and including i
+    private record Branch(Node[] children, int[] ends) implements Node {
+        static Branch of(Node[] children) {
+            int[] ends = new int[children.length];
+            int sum = 0;
+            for (int i = 0; i < children.length; i++) {
+                sum += children[i].size();
+                ends[i] = sum;
+            }
+
+            return new Branch(children, ends);
+        }
+
+        @Override
+        public int size() {
+            return ends[ends.length - 1];
+        }
+
+        int childOf(int index) {
+            int low = 0;
+            int high = ends.length - 1;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle] > index) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+
+            return low;
+        }
+
+        int startOf(int child) {
+            return child == 0 ? 0 : ends[child - 1];
+        }
+    }
+
+    private PersistentFigureVector(Node root) {
+        this.root = root;
+    }
+
+    public static PersistentFigureVector empty() {
+        return EMPTY;
+    }
+
+    // Builds the tree bottom up with full nodes in O(n)
+    public static PersistentFigureVector of(List<Figure> figures) {
+        if (figures.isEmpty()) {
+            return EMPTY;
+        }
+
+        Figure[] all = figures.toArray(new Figure[0]);
+        Node[] level = new Node[(all.length + BRANCHING - 1) / BRANCHING];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = new Leaf(Arrays.copyOfRange(all, i * BRANCHING, Math.min(all.length, (i + 1) * BRANCHING)));
+        }
+
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + BRANCHING - 1) / BRANCHING];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Branch.of(Arrays.copyOfRange(level, i * BRANCHING,
+                    Math.min(level.length, (i + 1) * BRANCHING)));
+            }
+            level = parents;
+        }
+
+        return new PersistentFigureVector(level[0]);
+    }
+
+    public int size() {
+        return root.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+    }
+
+    public Figure get(int index) {
+        checkIndex(index, size());
+
+        Node node = root;
+        while (node instanceof Branch branch) {
+            int child = branch.childOf(index);
+            index -= branch.startOf(child);
+            node = branch.children[child];
+        }
+
+        return ((Leaf) node).figures[index];
+    }
+
+    public int indexOf(Figure figure) {
+        int index = 0;
+
+        for (Figure current : this) {
+            if (current.equals(figure)) {
+                return index;
+            }
+            index++;
+        }
+
+        return -1;
+    }
+
+    public PersistentFigureVector append(Figure figure) {
+        return insert(size(), figure);
+    }
+
+    public PersistentFigureVector insert(int index, Figure figure) {
+        checkIndex(index, size() + 1);
+
+        Node[] inserted = insert(root, index, figure);
+
+        return new PersistentFigureVector(inserted.length == 1 ? inserted[0] : Branch.of(inserted));
+    }
+
+    public PersistentFigureVector remove(int index) {
+        checkIndex(index, size());
+
+        Node removed = remove(root, index);
+
+        if (removed == null) {
+            return EMPTY;
+        }
+
+        while (removed instanceof Branch branch && branch.children.length == 1) {
+            removed = branch.children[0];
+        }
+
+        return new PersistentFigureVector(removed);
+    }
+
+    // Returns the new node, or two halves when the node overflowed
+    private static Node[] insert(Node node, int index, Figure figure) {
+        if (node instanceof Leaf leaf) {
+            Figure[] figures = new Figure[leaf.figures.length + 1];
+            System.arraycopy(leaf.figures, 0, figures, 0, index);
+            figures[index] = figure;
+            System.arraycopy(leaf.figures, index, figures, index + 1, leaf.figures.length - index);
+
+            if (figures.length <= BRANCHING) {
+                return new Node[] {new Leaf(figures)};
+            }
+
+            int half = figures.length / 2;
+            return new Node[] {new Leaf(Arrays.copyOfRange(figures, 0, half)),
+                new Leaf(Arrays.copyOfRange(figures, half, figures.length))};
+        }
+
+        Branch branch = (Branch) node;
+        int child = index == branch.size() ? branch.children.length - 1 : branch.childOf(index);
+        Node[] inserted = insert(branch.children[child], index - branch.startOf(child), figure);
+
+        Node[] children = new Node[branch.children.length + inserted.length - 1];
+        System.arraycopy(branch.children, 0, children, 0, child);
+        System.arraycopy(inserted, 0, children, child, inserted.length);
+        System.arraycopy(branch.children, child + 1, children, child + inserted.length,
+            branch.children.length - child - 1);
+
+        if (children.length <= BRANCHING) {
+            return new Node[] {Branch.of(children)};
+        }
+
+        int half = children.length / 2;
+        return new Node[] {Branch.of(Arrays.copyOfRange(children, 0, half)),
+            Branch.of(Arrays.copyOfRange(children, half, children.length))};
+    }
+
+    // Returns the new node or null when it became empty, small leaves are merged with a neighbour leaf
+    private static Node remove(Node node, int index) {
+        if (node instanceof Leaf leaf) {
+            if (leaf.figures.length == 1) {
+                return null;
+            }
+
+            Figure[] figures = new Figure[leaf.figures.length - 1];
+            System.arraycopy(leaf.figures, 0, figures, 0, index);
+            System.arraycopy(leaf.figures, index + 1, figures, index, figures.length - index);
+
+            return new Leaf(figures);
+        }
+
+        Branch branch = (Branch) node;
+        int child = branch.childOf(index);
+        Node removed = remove(branch.children[child], index - branch.startOf(child));
+
+        if (removed == null) {
+            if (branch.children.length == 1) {
+                return null;
+            }
+
+            Node[] children = new Node[branch.children.length - 1];
+            System.arraycopy(branch.children, 0, children, 0, child);
+            System.arraycopy(branch.children, child + 1, children, child, children.length - child);
+
+            return Branch.of(children);
+        }
+
+        Node[] children = branch.children.clone();
+        children[child] = removed;
+
+        if (removed instanceof Leaf leaf && leaf.figures.length < MERGE_THRESHOLD) {
+            int neighbour = child + 1 < children.length ? child + 1 : child - 1;
+
+            if (neighbour >= 0 && children[neighbour] instanceof Leaf other &&
+                leaf.figures.length + other.figures.length <= BRANCHING) {
+                int first = Math.min(child, neighbour);
+                Figure[] left = ((Leaf) children[first]).figures;
+                Figure[] right = ((Leaf) children[first + 1]).figures;
+                Figure[] merged = Arrays.copyOf(left, left.length + right.length);
+                System.arraycopy(right, 0, merged, left.length, right.length);
+
+                Node[] mergedChildren = new Node[children.length - 1];
+                System.arraycopy(children, 0, mergedChildren, 0, first);
+                mergedChildren[first] = new Leaf(merged);
+                System.arraycopy(children, first + 2, mergedChildren, first + 1, children.length - first - 2);
+
+                return Branch.of(mergedChildren);
+            }
+        }
+
+        return Branch.of(children);
+    }
+
+    private static void forEachLeaf(Node node, Consumer<Figure[]> action) {
+        if (node instanceof Leaf leaf) {
+            action.accept(leaf.figures);
+        } else {
+            for (Node child : ((Branch) node).children) {
+                forEachLeaf(child, action);
+            }
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Figure> action) {
+        forEachLeaf(root, figures -> {
+            for (Figure figure : figures) {
+                action.accept(figure);
+            }
+        });
+    }
+
+    public Figure[] toArray() {
+        Figure[] figures = new Figure[size()];
+        int[] position = {0};
+
+        forEachLeaf(root, leaf -> {
+            System.arraycopy(leaf, 0, figures, position[0], leaf.length);
+            position[0] += leaf.length;
+        });
+
+        return figures;
+    }
+
+    // Finds the leaf holding the index, start[0] receives the index of its first figure
+    private Figure[] leafOf(int index, int[] start) {
+        Node node = root;
+        start[0] = 0;
+
+        while (node instanceof Branch branch) {
+            int child = branch.childOf(index - start[0]);
+            start[0] += branch.startOf(child);
+            node = branch.children[child];
+        }
+
+        return ((Leaf) node).figures;
+    }
+
+    @Override
+    public Iterator<Figure> iterator() {
+        return new Iterator<>() {
+            private final int[] leafStart = new int[1];
+            private Figure[] leaf;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Figure next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                if (leaf == null || index - leafStart[0] >= leaf.length) {
+                    leaf = leafOf(index, leafStart);
+                }
+
+                return leaf[index++ - leafStart[0]];
+            }
+        };
+    }
+
+    // Read only list view, the vector never changes so the view is a snapshot
+    public List<Figure> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Figure get(int index) {
+                return PersistentFigureVector.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return PersistentFigureVector.this.size();
+            }
+
+            @Override
+            public Iterator<Figure> iterator() {
+                return PersistentFigureVector.this.iterator();
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package collections.persistent;
+
+import collections.FigureCollectionAPI;
+import collections.dedup.ToleranceIndex;
+import collections.sorting.ParallelIndexSort;
+import figures.Figure;
+import figures.FigureType;
+import utilities.compression.BlockGzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+// Every change makes a new version of a persistent vector and remembers the previous one. The versions
+// share their unchanged nodes, so an undo point of a single change costs O(log n) memory instead of a copy.
+public class UndoableFigureCollection implements FigureCollectionAPI {
+    public static final int DEFAULT_HISTORY = 100;
+
+    private static final String OUTPUT_DIRECTORY = "./resources/output/";
+
+    private final int maxHistory;
+    private final Deque<PersistentFigureVector> undoVersions;
+    private final Deque<PersistentFigureVector> redoVersions;
+    private PersistentFigureVector figures;
+
+    public UndoableFigureCollection() {
+        this(DEFAULT_HISTORY);
+    }
+
+    public UndoableFigureCollection(int maxHistory) {
+        if (maxHistory < 0) {
+            throw new IllegalArgumentException("History size can't be negative!");
+        }
+
+        this.maxHistory = maxHistory;
+        undoVersions = new ArrayDeque<>();
+        redoVersions = new ArrayDeque<>();
+        figures = PersistentFigureVector.empty();
+    }
+
+    // The oldest version is forgotten once the history is full
+    private void commit(PersistentFigureVector next) {
+        if (next == figures) {
+            return;
+        }
+
+        if (maxHistory > 0) {
+            if (undoVersions.size() == maxHistory) {
+                undoVersions.removeLast();
+            }
+            undoVersions.push(figures);
+        }
+
+        redoVersions.clear();
+        figures = next;
+    }
+
+    @Override
+    public boolean undo() {
+        if (undoVersions.isEmpty()) {
+            return false;
+        }
+
+        redoVersions.push(figures);
+        figures = undoVersions.pop();
+
+        return true;
+    }
+
+    @Override
+    public boolean redo() {
+        if (redoVersions.isEmpty()) {
+            return false;
+        }
+
+        undoVersions.push(figures);
+        figures = redoVersions.pop();
+
+        return true;
+    }
+
+    public int getUndoCount() {
+        return undoVersions.size();
+    }
+
+    public int getRedoCount() {
+        return redoVersions.size();
+    }
+
+    @Override
+    public Figure get(int index) {
+        return figures.get(index);
+    }
+
+    @Override
+    public void add(Figure figureToAdd) {
+        commit(figures.append(figureToAdd));
+    }
+
+    // The whole range is undone at once
+    @Override
+    public void addRange(Collection<Figure> figuresToAdd) {
+        PersistentFigureVector next = figures;
+
+        for (Figure figure : figuresToAdd) {
+            next = next.append(figure);
+        }
+
+        commit(next);
+    }
+
+    @Override
+    public void delete(Figure figureToDelete) {
+        int index = figures.indexOf(figureToDelete);
+
+        if (index >= 0) {
+            commit(figures.remove(index));
+        }
+    }
+
+    @Override
+    public boolean contains(Figure figure) {
+        return figures.indexOf(figure) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return figures.size();
+    }
+
+    @Override
+    public void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException {
+        commit(figures.append(figureToDuplicate.clone()));
+    }
+
+    @Override
+    public void sort(Comparator<? super Figure> comparator) {
+        Figure[] sorted = figures.toArray();
+        Arrays.parallelSort(sorted, comparator);
+
+        commit(PersistentFigureVector.of(Arrays.asList(sorted)));
+    }
+
+    @Override
+    public void sortByPerimeter() {
+        Figure[] source = figures.toArray();
+
+        reorder(source, ParallelIndexSort.sortedIndices(perimetersOf(source)));
+    }
+
+    @Override
+    public void sortByTypeThenPerimeter() {
+        Figure[] source = figures.toArray();
+        int[] types = new int[source.length];
+        Arrays.parallelSetAll(types, i -> FigureType.of(source[i]).ordinal());
+
+        int[] order = ParallelIndexSort.sortedIndices(perimetersOf(source));
+        reorder(source, ParallelIndexSort.groupByBucket(order, types, FigureType.values().length));
+    }
+
+    private static double[] perimetersOf(Figure[] source) {
+        double[] perimeters = new double[source.length];
+        Arrays.parallelSetAll(perimeters, i -> source[i].getPerimeter());
+
+        return perimeters;
+    }
+
+    private void reorder(Figure[] source, int[] order) {
+        Figure[] sorted = new Figure[source.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = source[order[i]];
+        }
+
+        commit(PersistentFigureVector.of(Arrays.asList(sorted)));
+    }
+
+    @Override
+    public int deduplicate(double epsilon) {
+        ToleranceIndex index = new ToleranceIndex(epsilon);
+        Figure[] distinct = new Figure[figures.size()];
+        int count = 0;
+
+        for (Figure figure : figures) {
+            if (index.addIfAbsent(figure)) {
+                distinct[count++] = figure;
+            }
+        }
+
+        int removed = figures.size() - count;
+        if (removed > 0) {
+            commit(PersistentFigureVector.of(Arrays.asList(distinct).subList(0, count)));
+        }
+
+        return removed;
+    }
+
+    // Versions never change, so the snapshot is free
+    @Override
+    public List<Figure> snapshot() {
+        return figures.asList();
+    }
+
+    @Override
+    public void storeIntoFile(String path, boolean append) throws IOException {
+        try (OutputStream os = BlockGzip.newOutputStream(Path.of(OUTPUT_DIRECTORY + path), append,
+            BlockGzip.isCompressed(path))) {
+            for (Figure figure : figures) {
+                byte[] line = figure.toString().getBytes();
+                os.write(line);
+                os.write('\n');
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (Figure f : figures) {
+            sb.append(f.toString());
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package collections.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Stable parallel merge sort that orders indices instead of the elements themselves,
+// so the elements are moved only once after their final positions are known.
+public final class ParallelIndexSort {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    @FunctionalInterface
+    public interface IndexComparator {
+        int compare(int first, int second);
+    }
+
+    private ParallelIndexSort() {
+    }
+
+    public static int[] sortedIndices(double[] keys) {
+        return sortedIndices(keys.length, (first, second) -> Double.compare(keys[first], keys[second]));
+    }
+
+    public static int[] sortedIndices(int size, IndexComparator comparator) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+
+        if (size > 1) {
+            ForkJoinPool.commonPool().invoke(new MergeSortTask(indices, new int[size], 0, size, comparator));
+        }
+
+        return indices;
+    }
+
+    // Stable counting pass that groups the already ordered indices by their bucket, keeping the order inside a bucket
+    public static int[] groupByBucket(int[] order, int[] buckets, int bucketsCount) {
+        int[] starts = new int[bucketsCount + 1];
+        for (int bucket : buckets) {
+            starts[bucket + 1]++;
+        }
+        for (int i = 0; i < bucketsCount; i++) {
+            starts[i + 1] += starts[i];
+        }
+
+        int[] grouped = new int[order.length];
+        for (int index : order) {
+            grouped[starts[buckets[index]]++] = index;
+        }
+
+        return grouped;
+    }
+
+    // Never serialized, it only runs inside the fork-join pool
+    @SuppressWarnings("serial")
+    private static final class MergeSortTask extends RecursiveAction {
+        private final int[] indices;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final IndexComparator comparator;
+
+        private MergeSortTask(int[] indices, int[] buffer, int from, int to, IndexComparator comparator) {
+            this.indices = indices;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                insertionSort();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            MergeSortTask left = new MergeSortTask(indices, buffer, from, middle, comparator);
+            MergeSortTask right = new MergeSortTask(indices, buffer, middle, to, comparator);
+
+            if (to - from <= PARALLEL_THRESHOLD) {
+                left.compute();
+                right.compute();
+            } else {
+                invokeAll(left, right);
+            }
+
+            if (comparator.compare(indices[middle - 1], indices[middle]) > 0) {
+                merge(middle);
+            }
+        }
+
+        private void insertionSort() {
+            for (int i = from + 1; i < to; i++) {
+                int current = indices[i];
+                int j = i - 1;
+
+                while (j >= from && comparator.compare(indices[j], current) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = current;
+            }
+        }
+
+        private void merge(int middle) {
+            System.arraycopy(indices, from, buffer, from, to - from);
+
+            int left = from;
+            int right = middle;
+            int target = from;
+
+            while (left < middle && right < to) {
+                if (comparator.compare(buffer[right], buffer[left]) < 0) {
+                    indices[target++] = buffer[right++];
+                } else {
+                    indices[target++] = buffer[left++];
+                }
+            }
+
+            System.arraycopy(buffer, left, indices, target, middle - left);
+            System.arraycopy(buffer, right, indices, target, to - right);
+        }
+    }
+}
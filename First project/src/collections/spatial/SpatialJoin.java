@@ -0,0 +1,201 @@
+package collections.spatial;
+
+import collections.FigureCollectionAPI;
+import collections.sorting.ParallelIndexSort;
+import figures.Circle;
+import figures.Figure;
+import figures.Rectangle;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Partitioned plane sweep. The plane is cut into vertical stripes and every circle goes into each stripe
+// its bounding box touches. The stripes are swept in parallel from bottom to top while keeping the circles
+// still reaching the sweep line active. A pair is reported only by the stripe holding the left edge of the
+// intersection of its bounding boxes, so pairs of circles sharing several stripes are reported once.
+public final class SpatialJoin {
+    private static final int CIRCLES_PER_STRIPE = 1024;
+
+    private SpatialJoin() {
+    }
+
+    private static List<Circle> circlesOf(FigureCollectionAPI figures) {
+        return figures.parallelStream()
+            .filter(Circle.class::isInstance)
+            .map(Circle.class::cast)
+            .toList();
+    }
+
+    public static int defaultStripes(int circles) {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        return Math.max(1, Math.min(circles / CIRCLES_PER_STRIPE, 4 * processors));
+    }
+
+    // Circles overlap when they share some area, touching circles don't overlap.
+    // The pairs are passed from several threads in no particular order, the first circle of a pair
+    // is the one which comes first in the collection.
+    public static void overlappingCircles(FigureCollectionAPI figures, BiConsumer<Circle, Circle> pairs) {
+        List<Circle> circles = circlesOf(figures);
+
+        overlappingCircles(circles, defaultStripes(circles.size()), pairs);
+    }
+
+    public static void overlappingCircles(List<Circle> circles, int stripes, BiConsumer<Circle, Circle> pairs) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes count should be positive!");
+        }
+
+        int size = circles.size();
+        if (size < 2) {
+            return;
+        }
+
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] radii = new double[size];
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < size; i++) {
+            Circle circle = circles.get(i);
+            xs[i] = circle.getCenter().x();
+            ys[i] = circle.getCenter().y();
+            radii[i] = circle.getRadius();
+            minX = Math.min(minX, xs[i] - radii[i]);
+            maxX = Math.max(maxX, xs[i] + radii[i]);
+        }
+
+        Stripes layout = Stripes.over(minX, maxX, stripes);
+        int[][] members = layout.distribute(xs, radii);
+
+        IntStream.range(0, layout.count).parallel().forEach(stripe ->
+            sweep(stripe, members[stripe], layout, circles, xs, ys, radii, pairs));
+    }
+
+    private record Stripes(double minX, double width, int count) {
+        static Stripes over(double minX, double maxX, int count) {
+            return maxX > minX ? new Stripes(minX, (maxX - minX) / count, count) : new Stripes(minX, 0, 1);
+        }
+
+        int of(double x) {
+            if (width <= 0) {
+                return 0;
+            }
+
+            return Math.max(0, Math.min(count - 1, (int) ((x - minX) / width)));
+        }
+
+        int[][] distribute(double[] xs, double[] radii) {
+            int[] sizes = new int[count];
+            for (int i = 0; i < xs.length; i++) {
+                for (int stripe = of(xs[i] - radii[i]); stripe <= of(xs[i] + radii[i]); stripe++) {
+                    sizes[stripe]++;
+                }
+            }
+
+            int[][] members = new int[count][];
+            for (int stripe = 0; stripe < count; stripe++) {
+                members[stripe] = new int[sizes[stripe]];
+                sizes[stripe] = 0;
+            }
+
+            for (int i = 0; i < xs.length; i++) {
+                for (int stripe = of(xs[i] - radii[i]); stripe <= of(xs[i] + radii[i]); stripe++) {
+                    members[stripe][sizes[stripe]++] = i;
+                }
+            }
+
+            return members;
+        }
+    }
+
+    private static void sweep(int stripe, int[] members, Stripes layout, List<Circle> circles,
+                              double[] xs, double[] ys, double[] radii, BiConsumer<Circle, Circle> pairs) {
+        double[] bottoms = new double[members.length];
+        for (int i = 0; i < members.length; i++) {
+            bottoms[i] = ys[members[i]] - radii[members[i]];
+        }
+
+        int[] order = ParallelIndexSort.sortedIndices(bottoms);
+        int[] active = new int[members.length];
+        int activeCount = 0;
+
+        for (int position : order) {
+            int current = members[position];
+            double bottom = bottoms[position];
+            int kept = 0;
+
+            for (int i = 0; i < activeCount; i++) {
+                int other = active[i];
+
+                if (ys[other] + radii[other] < bottom) {
+                    continue;
+                }
+                active[kept++] = other;
+
+                if (overlap(current, other, xs, ys, radii) &&
+                    layout.of(Math.max(xs[current] - radii[current], xs[other] - radii[other])) == stripe) {
+                    pairs.accept(circles.get(Math.min(current, other)), circles.get(Math.max(current, other)));
+                }
+            }
+
+            active[kept++] = current;
+            activeCount = kept;
+        }
+    }
+
+    private static boolean overlap(int first, int second, double[] xs, double[] ys, double[] radii) {
+        double reach = radii[first] + radii[second];
+        double dx = xs[first] - xs[second];
+        if (Math.abs(dx) >= reach) {
+            return false;
+        }
+
+        double dy = ys[first] - ys[second];
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    // A circle fits inside a rectangle when its diameter is not longer than the shorter side
+    public static boolean fits(Circle circle, Rectangle rectangle) {
+        return 2 * circle.getRadius() <= Math.min(rectangle.getSideA(), rectangle.getSideB());
+    }
+
+    public static void fittingCircles(FigureCollectionAPI figures, Rectangle sizeClass, Consumer<Circle> circles) {
+        figures.stream()
+            .filter(Circle.class::isInstance)
+            .map(Circle.class::cast)
+            .filter(circle -> fits(circle, sizeClass))
+            .forEach(circles);
+    }
+
+    // Joins every rectangle with every circle fitting inside it. The circles are sorted by radius once,
+    // so every rectangle only walks the prefix of the circles fitting inside it.
+    public static void fittingCircles(FigureCollectionAPI figures, BiConsumer<Rectangle, Circle> pairs) {
+        List<Figure> snapshot = figures.snapshot();
+        List<Circle> circles = snapshot.stream()
+            .filter(Circle.class::isInstance)
+            .map(Circle.class::cast)
+            .toList();
+
+        double[] radii = new double[circles.size()];
+        for (int i = 0; i < radii.length; i++) {
+            radii[i] = circles.get(i).getRadius();
+        }
+        int[] bySize = ParallelIndexSort.sortedIndices(radii);
+
+        snapshot.parallelStream()
+            .filter(Rectangle.class::isInstance)
+            .map(Rectangle.class::cast)
+            .forEach(rectangle -> {
+                for (int index : bySize) {
+                    if (!fits(circles.get(index), rectangle)) {
+                        break;
+                    }
+                    pairs.accept(rectangle, circles.get(index));
+                }
+            });
+    }
+}
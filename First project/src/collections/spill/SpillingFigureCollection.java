@@ -0,0 +1,793 @@
+package collections.spill;
+
+import collections.FigureCollectionAPI;
+import collections.binary.FigureRecordCodec;
+import collections.dedup.ToleranceIndex;
+import figures.Figure;
+import figures.FigureType;
+import utilities.compression.BlockGzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Keeps the figures in fixed-size segments. Only as many segments as the memory budget allows stay on the heap,
+// the least recently used ones are spilled to temporary files as binary records and paged back in on access.
+// While the figures are read in order the next spilled segment is read ahead in the background.
+public class SpillingFigureCollection implements FigureCollectionAPI, AutoCloseable {
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 12;
+
+    private final FigureRecordCodec codec;
+    private final int segmentCapacity;
+    private final int maxResidentSegments;
+    private final Path spillDirectory;
+    private final boolean ownsSpillDirectory;
+    private final List<Segment> segments;
+    private final Map<Segment, Boolean> residentSegments;
+    private final ExecutorService readAhead;
+
+    private int size;
+    private int cachedSegmentIndex;
+    private int cachedSegmentStart;
+
+    private static class Segment {
+        private List<Figure> figures = new ArrayList<>();
+        private int size;
+        private Path file;
+        private boolean dirty;
+        private Future<List<Figure>> prefetched;
+    }
+
+    // Reads a spilled segment block by block while it is merged with the others
+    private static class RunCursor implements AutoCloseable {
+        private static final int BLOCK_RECORDS = 256;
+
+        private final FigureRecordCodec codec;
+        private final FileChannel channel;
+        private final ByteBuffer block;
+        private final int order;
+        private int remaining;
+        private Figure current;
+
+        private RunCursor(FigureRecordCodec codec, Segment run, int order) throws IOException {
+            this.codec = codec;
+            this.channel = FileChannel.open(run.file, StandardOpenOption.READ);
+            this.block = ByteBuffer.allocate(BLOCK_RECORDS * codec.getRecordSize());
+            this.block.limit(0);
+            this.order = order;
+            this.remaining = run.size;
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return false;
+            }
+
+            if (!block.hasRemaining()) {
+                block.clear();
+                block.limit(Math.min(BLOCK_RECORDS, remaining) * codec.getRecordSize());
+                while (block.hasRemaining() && channel.read(block) >= 0) {
+                    // Reads until the block is filled
+                }
+                block.flip();
+            }
+
+            current = codec.read(block, block.position());
+            block.position(block.position() + codec.getRecordSize());
+            remaining--;
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // A copy of the figures as binary records in a mapped file, so it takes no heap and creates figures on access
+    private static class RecordSnapshot extends AbstractList<Figure> implements RandomAccess {
+        private static final int BLOCK_RECORDS = 1 << 20;
+
+        private final FigureRecordCodec codec;
+        private final ByteBuffer[] blocks;
+        private final int size;
+
+        private RecordSnapshot(FigureRecordCodec codec, FileChannel channel, int size) throws IOException {
+            this.codec = codec;
+            this.size = size;
+            this.blocks = new ByteBuffer[(size + BLOCK_RECORDS - 1) / BLOCK_RECORDS];
+
+            for (int i = 0; i < blocks.length; i++) {
+                long records = Math.min(BLOCK_RECORDS, size - (long) i * BLOCK_RECORDS);
+                blocks[i] = channel.map(FileChannel.MapMode.READ_ONLY, (long) i * BLOCK_RECORDS * codec.getRecordSize(),
+                    records * codec.getRecordSize());
+            }
+        }
+
+        @Override
+        public Figure get(int index) {
+            Objects.checkIndex(index, size);
+
+            return codec.read(blocks[index / BLOCK_RECORDS], (index % BLOCK_RECORDS) * codec.getRecordSize());
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // Splits at segment borders and reads spilled segments straight from their files, so the traversal
+    // keeps at most one segment per split on the heap and does not touch the resident segments bookkeeping.
+    // The collection should not change while the figures are traversed.
+    private class SegmentSpliterator implements Spliterator<Figure> {
+        private final List<List<Figure>> residentFigures;
+        private final Path[] files;
+        private final int[] sizes;
+        private int nextSegment;
+        private final int fence;
+        private List<Figure> current;
+        private int position;
+        private long remaining;
+
+        private SegmentSpliterator(List<List<Figure>> residentFigures, Path[] files, int[] sizes, int origin, int fence) {
+            this.residentFigures = residentFigures;
+            this.files = files;
+            this.sizes = sizes;
+            this.nextSegment = origin;
+            this.fence = fence;
+
+            for (int i = origin; i < fence; i++) {
+                remaining += sizes[i];
+            }
+        }
+
+        private boolean loadNextSegment() {
+            while (current == null || position >= current.size()) {
+                if (nextSegment >= fence) {
+                    current = null;
+                    return false;
+                }
+
+                int segment = nextSegment++;
+                current = residentFigures.get(segment) != null
+                    ? residentFigures.get(segment)
+                    : readSegment(files[segment], sizes[segment]);
+                position = 0;
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Figure> action) {
+            if (!loadNextSegment()) {
+                return false;
+            }
+
+            remaining--;
+            action.accept(current.get(position++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Figure> action) {
+            while (loadNextSegment()) {
+                remaining -= current.size() - position;
+
+                for (int i = position; i < current.size(); i++) {
+                    action.accept(current.get(i));
+                }
+                position = current.size();
+            }
+        }
+
+        // Only untouched segments are split off, the segment being read stays with this spliterator
+        @Override
+        public Spliterator<Figure> trySplit() {
+            if (current != null && position < current.size()) {
+                return null;
+            }
+
+            int middle = (nextSegment + fence) >>> 1;
+            if (middle <= nextSegment) {
+                return null;
+            }
+
+            SegmentSpliterator prefix = new SegmentSpliterator(residentFigures, files, sizes, nextSegment, middle);
+            nextSegment = middle;
+            remaining -= prefix.remaining;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    public SpillingFigureCollection(long memoryBudgetBytes) throws IOException {
+        this(memoryBudgetBytes, DEFAULT_SEGMENT_CAPACITY, Files.createTempDirectory("figures-spill"), true);
+    }
+
+    public SpillingFigureCollection(long memoryBudgetBytes, int segmentCapacity, Path spillDirectory) {
+        this(memoryBudgetBytes, segmentCapacity, spillDirectory, false);
+    }
+
+    private SpillingFigureCollection(long memoryBudgetBytes, int segmentCapacity, Path spillDirectory,
+                                     boolean ownsSpillDirectory) {
+        if (segmentCapacity <= 0) {
+            throw new IllegalArgumentException("Segment capacity should be positive!");
+        }
+
+        this.codec = new FigureRecordCodec();
+        this.segmentCapacity = segmentCapacity;
+        this.maxResidentSegments = (int) Math.max(1, memoryBudgetBytes / (segmentCapacity * ESTIMATED_FIGURE_BYTES));
+        this.spillDirectory = spillDirectory;
+        this.ownsSpillDirectory = ownsSpillDirectory;
+        this.segments = new ArrayList<>();
+        this.residentSegments = new LinkedHashMap<>(16, 0.75f, true);
+        this.readAhead = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "figures-read-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.size = 0;
+        this.cachedSegmentIndex = 0;
+        this.cachedSegmentStart = 0;
+    }
+
+    public int getSegmentsCount() {
+        return segments.size();
+    }
+
+    public int getResidentSegmentsCount() {
+        return residentSegments.size();
+    }
+
+    @Override
+    public long estimateHeapBytes() {
+        return (long) residentSegments.size() * segmentCapacity * ESTIMATED_FIGURE_BYTES;
+    }
+
+    private ByteBuffer readRecords(Path file, int figuresCount) {
+        ByteBuffer buffer = ByteBuffer.allocate(figuresCount * codec.getRecordSize());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Reads until the buffer is filled
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return buffer;
+    }
+
+    private List<Figure> readSegment(Path file, int figuresCount) {
+        ByteBuffer buffer = readRecords(file, figuresCount);
+        List<Figure> figures = new ArrayList<>(figuresCount);
+        for (int i = 0; i < figuresCount; i++) {
+            figures.add(codec.read(buffer, i * codec.getRecordSize()));
+        }
+
+        return figures;
+    }
+
+    private void spill(Segment segment) {
+        try {
+            if (segment.dirty || segment.file == null) {
+                if (segment.file == null) {
+                    segment.file = Files.createTempFile(spillDirectory, "segment", ".bin");
+                }
+
+                ByteBuffer buffer = ByteBuffer.allocate(segment.size * codec.getRecordSize());
+                for (int i = 0; i < segment.size; i++) {
+                    codec.write(buffer, i * codec.getRecordSize(), segment.figures.get(i));
+                }
+
+                try (FileChannel channel = FileChannel.open(segment.file,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        segment.figures = null;
+        segment.dirty = false;
+        residentSegments.remove(segment);
+    }
+
+    private void pageIn(Segment segment) {
+        if (segment.prefetched != null) {
+            try {
+                segment.figures = segment.prefetched.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (ExecutionException ex) {
+                segment.figures = readSegment(segment.file, segment.size);
+            }
+            segment.prefetched = null;
+        } else {
+            segment.figures = readSegment(segment.file, segment.size);
+        }
+    }
+
+    private void enforceBudget(Segment keep) {
+        Iterator<Segment> leastRecentlyUsed = residentSegments.keySet().iterator();
+
+        while (residentSegments.size() > maxResidentSegments && leastRecentlyUsed.hasNext()) {
+            Segment segment = leastRecentlyUsed.next();
+
+            if (segment != keep) {
+                spill(segment);
+                leastRecentlyUsed = residentSegments.keySet().iterator();
+            }
+        }
+    }
+
+    private List<Figure> residentFigures(Segment segment) {
+        if (segment.figures == null) {
+            pageIn(segment);
+        }
+
+        residentSegments.put(segment, Boolean.TRUE);
+        enforceBudget(segment);
+
+        return segment.figures;
+    }
+
+    private void scheduleReadAhead(int segmentIndex) {
+        if (segmentIndex >= segments.size()) {
+            return;
+        }
+
+        Segment segment = segments.get(segmentIndex);
+
+        if (segment.figures == null && segment.prefetched == null) {
+            Path file = segment.file;
+            int figuresCount = segment.size;
+            segment.prefetched = readAhead.submit(() -> readSegment(file, figuresCount));
+        }
+    }
+
+    private int locateSegment(int index) {
+        if (cachedSegmentIndex >= segments.size() || index < cachedSegmentStart) {
+            cachedSegmentIndex = 0;
+            cachedSegmentStart = 0;
+        }
+
+        while (index >= cachedSegmentStart + segments.get(cachedSegmentIndex).size) {
+            cachedSegmentStart += segments.get(cachedSegmentIndex).size;
+            cachedSegmentIndex++;
+        }
+
+        return cachedSegmentIndex;
+    }
+
+    private void resetLocationCache() {
+        cachedSegmentIndex = 0;
+        cachedSegmentStart = 0;
+    }
+
+    private int indexOfSpilled(Segment segment, ByteBuffer encoded) {
+        ByteBuffer buffer = readRecords(segment.file, segment.size);
+
+        for (int i = 0; i < segment.size; i++) {
+            if (codec.matches(buffer, i * codec.getRecordSize(), encoded)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    // Spilled segments are searched in their binary form without creating figures
+    private int[] find(Figure figure) {
+        ByteBuffer encoded = null;
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            int index;
+
+            if (segment.figures == null && segment.prefetched == null) {
+                if (encoded == null) {
+                    encoded = codec.encode(figure);
+                }
+                index = indexOfSpilled(segment, encoded);
+            } else {
+                index = residentFigures(segment).indexOf(figure);
+            }
+
+            if (index >= 0) {
+                return new int[] {i, index};
+            }
+        }
+
+        return null;
+    }
+
+    private void removeSegment(int segmentIndex) {
+        Segment segment = segments.remove(segmentIndex);
+        residentSegments.remove(segment);
+
+        if (segment.prefetched != null) {
+            segment.prefetched.cancel(true);
+        }
+
+        if (segment.file != null) {
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    @Override
+    public Figure get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        int segmentIndex = locateSegment(index);
+        List<Figure> figures = residentFigures(segments.get(segmentIndex));
+        scheduleReadAhead(segmentIndex + 1);
+
+        return figures.get(index - cachedSegmentStart);
+    }
+
+    @Override
+    public void add(Figure figureToAdd) {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+
+        if (last == null || last.size == segmentCapacity) {
+            last = new Segment();
+            segments.add(last);
+        }
+
+        residentFigures(last).add(figureToAdd);
+        last.size++;
+        last.dirty = true;
+        size++;
+    }
+
+    @Override
+    public void addRange(Collection<Figure> figuresToAdd) {
+        for (Figure figure : figuresToAdd) {
+            add(figure);
+        }
+    }
+
+    @Override
+    public void delete(Figure figureToDelete) {
+        int[] location = find(figureToDelete);
+
+        if (location == null) {
+            return;
+        }
+
+        Segment segment = segments.get(location[0]);
+        residentFigures(segment).remove(location[1]);
+        segment.size--;
+        segment.dirty = true;
+        size--;
+
+        if (segment.size == 0) {
+            removeSegment(location[0]);
+        }
+        resetLocationCache();
+    }
+
+    @Override
+    public boolean contains(Figure figure) {
+        return find(figure) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void duplicate(Figure figureToDuplicate) throws CloneNotSupportedException {
+        add(figureToDuplicate.clone());
+    }
+
+    // External merge sort: every segment is sorted on its own into a run file, then the runs are merged into new
+    // segments, so only the budget of figures is kept on the heap. The old segments stay on disk until the merge
+    // is done and are put back if it fails, so no figure is lost on a full disk.
+    @Override
+    public void sort(Comparator<? super Figure> comparator) {
+        if (segments.size() <= 1) {
+            for (Segment segment : segments) {
+                residentFigures(segment).sort(comparator);
+                segment.dirty = true;
+            }
+            return;
+        }
+
+        List<Segment> detached = detachSegments();
+        List<Segment> runs = new ArrayList<>();
+        List<RunCursor> cursors = new ArrayList<>();
+        boolean merged = false;
+
+        try {
+            for (Segment segment : detached) {
+                Segment run = new Segment();
+                run.figures = readSegment(segment.file, segment.size);
+                run.figures.sort(comparator);
+                run.size = segment.size;
+                run.dirty = true;
+                runs.add(run);
+                spill(run);
+            }
+
+            PriorityQueue<RunCursor> heads = new PriorityQueue<>((first, second) -> {
+                int compared = comparator.compare(first.current, second.current);
+                return compared != 0 ? compared : Integer.compare(first.order, second.order);
+            });
+
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(codec, runs.get(i), i);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                RunCursor cursor = heads.poll();
+                add(cursor.current);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+
+            merged = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            for (RunCursor cursor : cursors) {
+                try {
+                    cursor.close();
+                } catch (IOException ignored) {
+                    // The run file is deleted below anyway
+                }
+            }
+
+            deleteRuns(runs);
+            finishRebuild(detached, merged);
+        }
+    }
+
+    // Spills every segment and empties the collection, so the returned segments can be read back as runs
+    private List<Segment> detachSegments() {
+        List<Segment> runs = new ArrayList<>(segments);
+        for (Segment run : runs) {
+            if (run.prefetched != null) {
+                run.prefetched.cancel(true);
+                run.prefetched = null;
+            }
+            if (run.figures != null) {
+                spill(run);
+            }
+        }
+
+        segments.clear();
+        residentSegments.clear();
+        size = 0;
+        resetLocationCache();
+
+        return runs;
+    }
+
+    // Once the collection is rebuilt the detached segments are deleted, otherwise the rebuilt segments are
+    private void finishRebuild(List<Segment> detached, boolean rebuilt) {
+        if (rebuilt) {
+            deleteRuns(detached);
+            return;
+        }
+
+        deleteRuns(segments);
+        segments.clear();
+        residentSegments.clear();
+        segments.addAll(detached);
+        size = 0;
+        for (Segment segment : detached) {
+            size += segment.size;
+        }
+        resetLocationCache();
+    }
+
+    private void deleteRuns(List<Segment> runs) {
+        for (Segment run : runs) {
+            if (run.prefetched != null) {
+                run.prefetched.cancel(true);
+            }
+
+            try {
+                if (run.file != null) {
+                    Files.deleteIfExists(run.file);
+                }
+            } catch (IOException ignored) {
+                // A run file that can not be deleted only wastes disk space
+            }
+        }
+    }
+
+    // The figures are read back segment by segment and only the distinct ones are added again
+    @Override
+    public int deduplicate(double epsilon) {
+        ToleranceIndex index = new ToleranceIndex(epsilon);
+        int previousSize = size;
+        List<Segment> runs = detachSegments();
+        boolean deduplicated = false;
+
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                try (RunCursor cursor = new RunCursor(codec, runs.get(i), i)) {
+                    while (cursor.advance()) {
+                        if (index.addIfAbsent(cursor.current)) {
+                            add(cursor.current);
+                        }
+                    }
+                }
+            }
+
+            deduplicated = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            finishRebuild(runs, deduplicated);
+        }
+
+        return previousSize - size;
+    }
+
+    @Override
+    public void sortByPerimeter() {
+        sort(Comparator.comparingDouble(Figure::getPerimeter));
+    }
+
+    @Override
+    public void sortByTypeThenPerimeter() {
+        sort(Comparator.comparing(FigureType::of).thenComparingDouble(Figure::getPerimeter));
+    }
+
+    @Override
+    public void storeIntoFile(String path, boolean append) throws IOException {
+        try (OutputStream os = BlockGzip.newOutputStream(Path.of("./resources/output/" + path), append,
+            BlockGzip.isCompressed(path))) {
+            for (int i = 0; i < size; i++) {
+                byte[] line = get(i).toString().getBytes();
+                os.write(line);
+                os.write('\n');
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<Figure> spliterator() {
+        List<List<Figure>> residentFigures = new ArrayList<>(segments.size());
+        Path[] files = new Path[segments.size()];
+        int[] sizes = new int[segments.size()];
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            residentFigures.add(segment.figures);
+            files[i] = segment.file;
+            sizes[i] = segment.size;
+        }
+
+        return new SegmentSpliterator(residentFigures, files, sizes, 0, segments.size());
+    }
+
+    // Resident segments are encoded and spilled ones copied file to file, no segment is paged in.
+    // The snapshot file is deleted when its channel is closed, the mapping stays valid until it is collected.
+    @Override
+    public List<Figure> snapshot() {
+        if (size == 0) {
+            return List.of();
+        }
+
+        try {
+            Path file = Files.createTempFile(spillDirectory, "snapshot", ".bin");
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+                for (Segment segment : segments) {
+                    if (segment.figures != null) {
+                        ByteBuffer buffer = ByteBuffer.allocate(segment.size * codec.getRecordSize());
+                        for (int i = 0; i < segment.size; i++) {
+                            codec.write(buffer, i * codec.getRecordSize(), segment.figures.get(i));
+                        }
+
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    } else {
+                        copyRecords(segment, channel);
+                    }
+                }
+
+                return new RecordSnapshot(codec, channel, size);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void copyRecords(Segment segment, FileChannel target) throws IOException {
+        long bytes = (long) segment.size * codec.getRecordSize();
+
+        try (FileChannel source = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+            for (long copied = 0; copied < bytes; ) {
+                copied += source.transferTo(copied, bytes - copied, target);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        readAhead.shutdownNow();
+
+        while (!segments.isEmpty()) {
+            removeSegment(segments.size() - 1);
+        }
+
+        size = 0;
+        resetLocationCache();
+
+        if (ownsSpillDirectory) {
+            Files.deleteIfExists(spillDirectory);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            sb.append(get(i).toString());
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+}
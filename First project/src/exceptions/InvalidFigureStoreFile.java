@@ -0,0 +1,7 @@
+package exceptions;
+
+public class InvalidFigureStoreFile extends RuntimeException {
+    public InvalidFigureStoreFile(String path) {
+        super("The file " + path + " is not a valid figure store!");
+    }
+}
@@ -0,0 +1,7 @@
+package exceptions;
+
+public class ValueOutOfPrecisionRange extends RuntimeException {
+    public ValueOutOfPrecisionRange(double value) {
+        super("The value " + value + " cannot be stored with the selected precision!");
+    }
+}
@@ -1,29 +1,40 @@
 package factories.asbstract;
 
 import exceptions.InvalidCreationMethod;
+import factories.methods.DirectoryFigureFactory;
 import factories.methods.FigureFactoryAPI;
 import factories.methods.FileFigureFactory;
+import factories.methods.ImportOrder;
 import factories.methods.RandomFigureFactory;
 import factories.methods.STDINFigureFactory;
+import factories.methods.StreamFigureFactory;
+import factories.workload.WorkloadBuilder;
+import utilities.logging.LogLevel;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
 import static utilities.MyLogger.log;
+import static utilities.MyFileParser.getConfig;
 import static utilities.MyFileParser.getMaxFigureValue;
 
 public class AbstractFigureFactory implements AbstractFigureFactoryAPI {
-    private Scanner sc;
+    private final Supplier<String> console;
+
+    private String nextLine() {
+        String line = console.get();
+        return line == null ? "" : line;
+    }
 
     private String getTypeInput() {
-        log("Enter creation method (Console, File, Random): \n");
-        String line = sc.nextLine();
+        log("Enter creation method (Console, File, Directory, Random, Workload): \n");
+        String line = nextLine();
         return line;
     }
 
@@ -32,54 +43,59 @@ public class AbstractFigureFactory implements AbstractFigureFactoryAPI {
         int count = 0;
 
         try {
-            count = Integer.parseInt(sc.nextLine());
+            count = Integer.parseInt(nextLine());
         } catch (NumberFormatException ex) {
-            log("Invalid number as input! \n");
+            log(LogLevel.WARN, "Invalid number as input! \n");
         }
 
         return count;
     }
     public AbstractFigureFactory(Scanner sc) {
+        this(() -> sc.hasNextLine() ? sc.nextLine() : null);
+    }
+
+    public AbstractFigureFactory(BufferedReader reader) {
+        this(StreamFigureFactory.linesOf(reader));
+    }
+
+    private AbstractFigureFactory(Supplier<String> console) {
         Locale.setDefault(Locale.ENGLISH);
-        this.sc = sc;
+        this.console = console;
     }
 
     private FileFigureFactory getFileFactory() {
         log("Enter <file name>: \n");
 
-        String fileName = sc.nextLine();
+        String fileName = nextLine();
         FileInputStream fileInputStream;
 
         try {
           fileInputStream  = new FileInputStream("./resources/input/" + fileName);
-          return new FileFigureFactory(fileInputStream);
+          return FileFigureFactory.forCheckpoint(fileInputStream);
         } catch (FileNotFoundException fileNotFoundException) {
-            log("Such file is not found!");
+            log(LogLevel.WARN, "Such file is not found!");
+        } catch (IOException ioException) {
+            log(LogLevel.WARN, ioException.getMessage());
         }
 
         return null;
     }
 
-    private STDINFigureFactory getStdinFigureFactory() {
-        log("Enter <figureType> <params...> and tap new line when you are ready: \n");
-        List<String> input = new ArrayList<>();
-
-        while(true) {
-            String currLine = sc.nextLine();
-            if (currLine.isEmpty() || currLine.isBlank()) {
-                break;
-            }
-            input.add(currLine);
-        }
+    private DirectoryFigureFactory getDirectoryFactory() {
+        log("Enter <directory or glob> [arrival](merge files as they are parsed instead of by name): \n");
 
-        StringBuilder sb = new StringBuilder();
+        String[] input = nextLine().trim().split(" ");
+        ImportOrder order = input.length > 1 && input[1].equalsIgnoreCase("arrival")
+            ? ImportOrder.ARRIVAL_ORDER
+            : ImportOrder.FILE_ORDER;
 
-        for (String str : input) {
-            sb.append(str);
-            sb.append('\n');
-        }
+        return DirectoryFigureFactory.forPattern(Path.of("./resources/input/"), input[0], order);
+    }
+
+    private STDINFigureFactory getStdinFigureFactory() {
+        log("Enter <figureType> <params...> and tap new line when you are ready: \n");
 
-        return new STDINFigureFactory(new ByteArrayInputStream(sb.toString().getBytes()));
+        return new STDINFigureFactory(console);
     }
 
     @Override
@@ -87,7 +103,11 @@ public class AbstractFigureFactory implements AbstractFigureFactoryAPI {
         return switch (getTypeInput()) {
             case "Console" -> getStdinFigureFactory();
             case "File" -> getFileFactory();
+            case "Directory" -> getDirectoryFactory();
             case "Random" -> new RandomFigureFactory(getRandomInput(), getMaxFigureValue("./resources/config/random.txt"));
+            case "Workload" -> WorkloadBuilder.fromProperties(getConfig("./resources/config/workload.txt"))
+                .setCount(getRandomInput())
+                .build();
             default -> throw new InvalidCreationMethod();
         };
     }
@@ -0,0 +1,65 @@
+package factories.methods;
+
+import figures.Figure;
+import figures.FigureType;
+import utilities.DecimalParser;
+
+import java.io.InputStream;
+
+// <type>,<dimension>,<dimension>[,<dimension>] per line, e.g. "circle,5.5,3,8.4" (radius, x, y).
+// An optional header line starting with "type" is skipped and fields may be quoted.
+public class CsvFigureFactory extends FileFigureFactory {
+    private static final String HEADER_FIELD = "type";
+
+    private final double[] dimensions = new double[FigureType.MAX_DIMENSIONS];
+
+    public CsvFigureFactory(InputStream input) {
+        super(input);
+    }
+
+    private static int trimStart(String line, int from, int to) {
+        while (from < to && (Character.isWhitespace(line.charAt(from)) || line.charAt(from) == '"')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(String line, int from, int to) {
+        while (to > from && (Character.isWhitespace(line.charAt(to - 1)) || line.charAt(to - 1) == '"')) {
+            to--;
+        }
+        return to;
+    }
+
+    @Override
+    protected Figure getFigure(String line) {
+        int fieldEnd = line.indexOf(',');
+        int typeEnd = fieldEnd < 0 ? line.length() : fieldEnd;
+        int typeStart = trimStart(line, 0, typeEnd);
+        typeEnd = trimEnd(line, typeStart, typeEnd);
+
+        if (line.regionMatches(true, typeStart, HEADER_FIELD, 0, HEADER_FIELD.length()) &&
+            typeEnd - typeStart == HEADER_FIELD.length()) {
+            return null;
+        }
+
+        FigureType type = getFigureType(line, typeStart, typeEnd);
+        int dimensionsCount = 0;
+
+        while (fieldEnd >= 0) {
+            int fieldStart = fieldEnd + 1;
+            fieldEnd = line.indexOf(',', fieldStart);
+            int end = fieldEnd < 0 ? line.length() : fieldEnd;
+
+            if (dimensionsCount == dimensions.length) {
+                dimensionsCount++;
+                break;
+            }
+
+            dimensions[dimensionsCount++] =
+                DecimalParser.parse(line, trimStart(line, fieldStart, end), trimEnd(line, fieldStart, end));
+        }
+
+        return createFigure(type, dimensions, dimensionsCount);
+    }
+}
@@ -0,0 +1,253 @@
+package factories.methods;
+
+import figures.Figure;
+import utilities.logging.LogLevel;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static utilities.MyLogger.log;
+
+// Parses every figure file of a directory matching a glob on a bounded pool of threads.
+// Only a window of parsed files is kept in memory and the figures are handed to the consumer
+// on the calling thread, so the target collection does not have to be thread safe.
+public class DirectoryFigureFactory implements FigureFactoryAPI {
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final Path directory;
+    private final String glob;
+    private final int threads;
+    private final ImportOrder order;
+
+    private final LongAdder bytesRead;
+    private final LongAdder figuresRead;
+    private long startNanos;
+    private long lastProgressNanos;
+    private int filesDone;
+
+    public DirectoryFigureFactory(Path directory, String glob) {
+        this(directory, glob, Runtime.getRuntime().availableProcessors(), ImportOrder.FILE_ORDER);
+    }
+
+    public DirectoryFigureFactory(Path directory, String glob, int threads, ImportOrder order) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads count should be positive!");
+        }
+
+        this.directory = directory;
+        this.glob = glob;
+        this.threads = threads;
+        this.order = order;
+        this.bytesRead = new LongAdder();
+        this.figuresRead = new LongAdder();
+    }
+
+    // The last part of the pattern is a glob when it has glob characters, otherwise the whole pattern is a directory
+    public static DirectoryFigureFactory forPattern(Path base, String pattern, ImportOrder order) {
+        int separator = pattern.lastIndexOf('/');
+        String lastPart = pattern.substring(separator + 1);
+
+        for (char c : GLOB_CHARACTERS.toCharArray()) {
+            if (lastPart.indexOf(c) >= 0) {
+                Path directory = separator < 0 ? base : base.resolve(pattern.substring(0, separator));
+                return new DirectoryFigureFactory(directory, lastPart,
+                    Runtime.getRuntime().availableProcessors(), order);
+            }
+        }
+
+        return new DirectoryFigureFactory(base.resolve(pattern), "*", Runtime.getRuntime().availableProcessors(),
+            order);
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getFiguresRead() {
+        return figuresRead.sum();
+    }
+
+    private List<Path> listFiles() {
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        files.sort(null);
+
+        return files;
+    }
+
+    private List<Figure> parse(Path file) {
+        try (InputStream input = new CountingInputStream(Files.newInputStream(file), bytesRead)) {
+            List<Figure> figures = new ArrayList<>();
+
+            // Counted as they are read, so the progress of a large file shows its figures too
+            FileFigureFactory.forInput(input).forEachFigure(figure -> {
+                figures.add(figure);
+                figuresRead.increment();
+            });
+
+            return figures;
+        } catch (IOException ex) {
+            log(LogLevel.WARN, "Could not read " + file + ": " + ex.getMessage());
+
+            return List.of();
+        }
+    }
+
+    private void reportProgress(int filesCount, boolean finished) {
+        long now = System.nanoTime();
+
+        if (!finished && now - lastProgressNanos < PROGRESS_INTERVAL_NANOS) {
+            return;
+        }
+        lastProgressNanos = now;
+
+        double seconds = Math.max(now - startNanos, 1) / 1e9;
+        long bytes = bytesRead.sum();
+        long figures = figuresRead.sum();
+
+        log(String.format("Imported %d/%d files, %d figures (%.1f MB/s, %.0f figures/s)", filesDone, filesCount,
+            figures, bytes / seconds / (1 << 20), figures / seconds));
+    }
+
+    // Reports progress while a large file is still being parsed, the bytes read are counted as they are read
+    private List<Figure> awaitWithProgress(Future<List<Figure>> parsed, int filesCount)
+        throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return parsed.get(PROGRESS_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                reportProgress(filesCount, false);
+            }
+        }
+    }
+
+    @Override
+    public List<Figure> getFigures() {
+        List<Figure> figures = new ArrayList<>();
+
+        forEachFigure(figures::add);
+
+        return figures;
+    }
+
+    @Override
+    public void forEachFigure(Consumer<Figure> consumer) {
+        List<Path> files = listFiles();
+        int window = threads * 2;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "figures-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        bytesRead.reset();
+        figuresRead.reset();
+        startNanos = System.nanoTime();
+        lastProgressNanos = startNanos;
+        filesDone = 0;
+
+        try {
+            if (order == ImportOrder.FILE_ORDER) {
+                List<Future<List<Figure>>> pending = new ArrayList<>();
+
+                for (int i = 0; i < files.size(); i++) {
+                    while (pending.size() < files.size() && pending.size() < i + window) {
+                        Path file = files.get(pending.size());
+                        pending.add(pool.submit(() -> parse(file)));
+                    }
+
+                    awaitWithProgress(pending.get(i), files.size()).forEach(consumer);
+                    pending.set(i, null);
+                    filesDone++;
+                    reportProgress(files.size(), false);
+                }
+            } else {
+                CompletionService<List<Figure>> completed = new ExecutorCompletionService<>(pool);
+                int submitted = 0;
+
+                for (int i = 0; i < files.size(); i++) {
+                    while (submitted < files.size() && submitted < i + window) {
+                        Path file = files.get(submitted++);
+                        completed.submit(() -> parse(file));
+                    }
+
+                    Future<List<Figure>> parsed;
+                    while ((parsed = completed.poll(PROGRESS_INTERVAL_NANOS, TimeUnit.NANOSECONDS)) == null) {
+                        reportProgress(files.size(), false);
+                    }
+
+                    parsed.get().forEach(consumer);
+                    filesDone++;
+                    reportProgress(files.size(), false);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        reportProgress(files.size(), true);
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongAdder counter;
+
+        private CountingInputStream(InputStream input, LongAdder counter) {
+            super(input);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                counter.increment();
+            }
+
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                counter.add(read);
+            }
+
+            return read;
+        }
+    }
+}
@@ -3,7 +3,13 @@ package factories.methods;
 import figures.Figure;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FigureFactoryAPI {
     public List<Figure> getFigures();
+
+    // Streams the figures one by one, so the source does not have to be loaded at once
+    default void forEachFigure(Consumer<Figure> consumer) {
+        getFigures().forEach(consumer);
+    }
 }
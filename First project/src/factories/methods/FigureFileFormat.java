@@ -0,0 +1,43 @@
+package factories.methods;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+
+public enum FigureFileFormat {
+    TEXT, CSV, JSON_LINES;
+
+    private static final int DETECTION_LIMIT = 4096;
+
+    // Looks at the first line of the input and resets the stream, so nothing is consumed
+    public static FigureFileFormat detect(BufferedInputStream input) throws IOException {
+        input.mark(DETECTION_LIMIT);
+
+        try {
+            int current = input.read();
+            int read = 1;
+
+            while (current != -1 && Character.isWhitespace(current) && read < DETECTION_LIMIT) {
+                current = input.read();
+                read++;
+            }
+
+            if (current == '{') {
+                return JSON_LINES;
+            }
+
+            boolean hasComma = false;
+            boolean hasParenthesis = false;
+
+            while (current != -1 && current != '\n' && read < DETECTION_LIMIT) {
+                hasComma |= current == ',';
+                hasParenthesis |= current == '(';
+                current = input.read();
+                read++;
+            }
+
+            return hasComma && !hasParenthesis ? CSV : TEXT;
+        } finally {
+            input.reset();
+        }
+    }
+}
@@ -1,9 +1,48 @@
 package factories.methods;
 
+import utilities.compression.BlockGzip;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 
 public class FileFigureFactory extends StreamFigureFactory {
+    private final boolean replayTombstones;
+
     public FileFigureFactory(InputStream input) {
+        this(input, false);
+    }
+
+    private FileFigureFactory(InputStream input, boolean replayTombstones) {
         super(input);
+        this.replayTombstones = replayTombstones;
+    }
+
+    public static FileFigureFactory forInput(InputStream input) throws IOException {
+        return forInput(input, false);
+    }
+
+    // Reads a file written by a checkpoint, its tombstones delete figures stored before them
+    public static FileFigureFactory forCheckpoint(InputStream input) throws IOException {
+        return forInput(input, true);
+    }
+
+    private static FileFigureFactory forInput(InputStream input, boolean replayTombstones) throws IOException {
+        BufferedInputStream bufferedInput = new BufferedInputStream(input);
+
+        if (BlockGzip.isCompressed(bufferedInput)) {
+            bufferedInput = new BufferedInputStream(BlockGzip.decompressing(bufferedInput));
+        }
+
+        return switch (FigureFileFormat.detect(bufferedInput)) {
+            case CSV -> new CsvFigureFactory(bufferedInput);
+            case JSON_LINES -> new JsonLinesFigureFactory(bufferedInput);
+            case TEXT -> new FileFigureFactory(bufferedInput, replayTombstones);
+        };
+    }
+
+    @Override
+    protected boolean replaysTombstones() {
+        return replayTombstones;
     }
 }
@@ -0,0 +1,8 @@
+package factories.methods;
+
+public enum ImportOrder {
+    // Figures of a file are merged after all figures of the files before it, sorted by file name
+    FILE_ORDER,
+    // Figures of a file are merged as soon as the file is parsed
+    ARRIVAL_ORDER
+}
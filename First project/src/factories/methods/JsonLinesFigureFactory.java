@@ -0,0 +1,187 @@
+package factories.methods;
+
+import exceptions.InvalidArgumentsToCreateSpecifiedFigure;
+import figures.Figure;
+import figures.FigureType;
+import utilities.DecimalParser;
+
+import java.io.InputStream;
+import java.util.Arrays;
+
+// One flat JSON object per line:
+// {"type": "triangle", "a": 1, "b": 2.01, "c": 3}
+// {"type": "rectangle", "a": 8, "b": 9}
+// {"type": "circle", "radius": 5.5, "x": 3, "y": 8.4}
+// The line is scanned in place without building a JSON tree and unknown keys are skipped.
+public class JsonLinesFigureFactory extends FileFigureFactory {
+    private static final String TYPE_KEY = "type";
+    private static final String[] SIDE_KEYS = {"a", "b", "c"};
+    private static final String[] CIRCLE_KEYS = {"radius", "x", "y"};
+
+    private final double[] dimensions = new double[FigureType.MAX_DIMENSIONS];
+    private final int[] sideValueStarts = new int[SIDE_KEYS.length];
+    private final int[] sideValueEnds = new int[SIDE_KEYS.length];
+    private final int[] circleValueStarts = new int[CIRCLE_KEYS.length];
+    private final int[] circleValueEnds = new int[CIRCLE_KEYS.length];
+
+    private String line;
+    private int position;
+
+    public JsonLinesFigureFactory(InputStream input) {
+        super(input);
+    }
+
+    private IllegalArgumentException invalidLine() {
+        return new IllegalArgumentException("Invalid JSON figure line: " + line);
+    }
+
+    private void skipWhitespace() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean isAt(char expected) {
+        skipWhitespace();
+        return position < line.length() && line.charAt(position) == expected;
+    }
+
+    private void expect(char expected) {
+        if (!isAt(expected)) {
+            throw invalidLine();
+        }
+        position++;
+    }
+
+    // Leaves the position after the closing quote and returns the index of it
+    private int readString() {
+        expect('"');
+
+        while (position < line.length() && line.charAt(position) != '"') {
+            position += line.charAt(position) == '\\' ? 2 : 1;
+        }
+
+        if (position >= line.length()) {
+            throw invalidLine();
+        }
+
+        return position++;
+    }
+
+    // Leaves the position at the ',' or '}' which ends the value
+    private void skipValue() {
+        int depth = 0;
+
+        while (position < line.length()) {
+            char current = line.charAt(position);
+
+            if (current == '"') {
+                readString();
+                continue;
+            }
+
+            if (current == '{' || current == '[') {
+                depth++;
+            } else if ((current == '}' || current == ']') && depth > 0) {
+                depth--;
+            } else if ((current == ',' || current == '}') && depth == 0) {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private boolean isKey(String key, int keyStart, int keyEnd) {
+        return keyEnd - keyStart == key.length() && line.regionMatches(keyStart, key, 0, key.length());
+    }
+
+    private int keyIndex(String[] keys, int keyStart, int keyEnd) {
+        for (int i = 0; i < keys.length; i++) {
+            if (isKey(keys[i], keyStart, keyEnd)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private Figure createFigure(FigureType type, int[] valueStarts, int[] valueEnds) {
+        int dimensionsCount = 0;
+
+        for (int i = 0; i < valueStarts.length; i++) {
+            if (valueStarts[i] < 0) {
+                continue;
+            }
+
+            if (i != dimensionsCount) {
+                throw new InvalidArgumentsToCreateSpecifiedFigure(type.name().toLowerCase());
+            }
+
+            dimensions[dimensionsCount++] = DecimalParser.parse(line, valueStarts[i], valueEnds[i]);
+        }
+
+        return createFigure(type, dimensions, dimensionsCount);
+    }
+
+    @Override
+    protected Figure getFigure(String line) {
+        this.line = line;
+        this.position = 0;
+
+        FigureType type = null;
+        Arrays.fill(sideValueStarts, -1);
+        Arrays.fill(circleValueStarts, -1);
+
+        expect('{');
+
+        do {
+            skipWhitespace();
+            int keyStart = position + 1;
+            int keyEnd = readString();
+            expect(':');
+
+            if (isKey(TYPE_KEY, keyStart, keyEnd)) {
+                skipWhitespace();
+                int valueStart = position + 1;
+                int valueEnd = readString();
+                type = getFigureType(line, valueStart, valueEnd);
+                continue;
+            }
+
+            skipWhitespace();
+            int valueStart = position;
+            skipValue();
+
+            int sideIndex = keyIndex(SIDE_KEYS, keyStart, keyEnd);
+            if (sideIndex >= 0) {
+                sideValueStarts[sideIndex] = valueStart;
+                sideValueEnds[sideIndex] = position;
+            }
+
+            int circleIndex = keyIndex(CIRCLE_KEYS, keyStart, keyEnd);
+            if (circleIndex >= 0) {
+                circleValueStarts[circleIndex] = valueStart;
+                circleValueEnds[circleIndex] = position;
+            }
+        } while (consumeComma());
+
+        expect('}');
+
+        if (type == null) {
+            throw invalidLine();
+        }
+
+        return type == FigureType.CIRCLE ?
+            createFigure(type, circleValueStarts, circleValueEnds) :
+            createFigure(type, sideValueStarts, sideValueEnds);
+    }
+
+    private boolean consumeComma() {
+        if (isAt(',')) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -9,6 +9,7 @@ import figures.Triangle;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 // TODO -> random interface generator
 public class RandomFigureFactory implements FigureFactoryAPI {
@@ -63,11 +64,16 @@ public class RandomFigureFactory implements FigureFactoryAPI {
     public List<Figure> getFigures() {
         List<Figure> figures = new ArrayList<>();
 
+        forEachFigure(figures::add);
+
+        return figures;
+    }
+
+    @Override
+    public void forEachFigure(Consumer<Figure> consumer) {
         for (int i = 0; i < count; i++) {
             Figure figure = getFigure();
-            figures.add(figure);
+            consumer.accept(figure);
         }
-
-        return figures;
     }
 }
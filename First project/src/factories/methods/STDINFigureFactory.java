@@ -1,9 +1,15 @@
 package factories.methods;
 
 import java.io.InputStream;
+import java.util.function.Supplier;
 
 public class STDINFigureFactory extends StreamFigureFactory {
     public STDINFigureFactory(InputStream input) {
         super(input);
     }
+
+    // Reads the figures straight from the console lines until a blank line or the end of the input
+    public STDINFigureFactory(Supplier<String> consoleLines) {
+        super(consoleLines);
+    }
 }
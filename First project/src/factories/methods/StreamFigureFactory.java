@@ -1,28 +1,55 @@
 package factories.methods;
 
+import collections.FigureCollection;
 import exceptions.FigureTypeDoesNotExist;
 import exceptions.InvalidArgumentsToCreateSpecifiedFigure;
-import figures.Circle;
 import figures.Figure;
+import figures.FigureType;
 import figures.Point;
-import figures.Rectangle;
-import figures.Triangle;
+import utilities.logging.LogLevel;
+import utilities.metrics.MetricsRegistry;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
-import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static utilities.MyLogger.log;
 
 public class StreamFigureFactory implements FigureFactoryAPI {
-    private final Scanner sc;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Supplier<String> lines;
 
     public StreamFigureFactory(InputStream input) {
+        this(linesOf(new BufferedReader(new InputStreamReader(input), READ_BUFFER_SIZE)));
+    }
+
+    // The supplier returns the next input line or null when the input has ended
+    protected StreamFigureFactory(Supplier<String> lines) {
         Locale.setDefault(Locale.ENGLISH);
 
-        sc = new Scanner(input);
+        this.lines = lines;
+    }
+
+    public static Supplier<String> linesOf(BufferedReader reader) {
+        return () -> {
+            try {
+                return reader.readLine();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
     }
 
     private Point getCircleCenter(String point) {
@@ -34,40 +61,58 @@ public class StreamFigureFactory implements FigureFactoryAPI {
         return new Point(x, y);
     }
 
-    private Figure getFigure(String line) {
-        String[] args = line.split(" ");
+    protected static FigureType getFigureType(String name) {
+        return getFigureType(name, 0, name.length());
+    }
 
-        if (args[0].compareToIgnoreCase("triangle") == 0) {
-            if (args.length != 4) {
-                throw new InvalidArgumentsToCreateSpecifiedFigure("triangle");
+    protected static FigureType getFigureType(String text, int from, int to) {
+        for (FigureType type : FigureType.values()) {
+            if (type.name().length() == to - from && text.regionMatches(true, from, type.name(), 0, to - from)) {
+                return type;
             }
+        }
 
-            double sideA = Double.parseDouble(args[1]);
-            double sideB = Double.parseDouble(args[2]);
-            double sideC = Double.parseDouble(args[3]);
+        throw new FigureTypeDoesNotExist();
+    }
 
-            return new Triangle(sideA, sideB, sideC);
-        } else if (args[0].compareToIgnoreCase("rectangle") == 0) {
-            if (args.length != 3) {
-                throw new InvalidArgumentsToCreateSpecifiedFigure("rectangle");
-            }
+    // The creation path shared by all input formats
+    protected static Figure createFigure(FigureType type, double[] dimensions, int dimensionsCount) {
+        if (dimensionsCount != type.getDimensionsCount()) {
+            throw new InvalidArgumentsToCreateSpecifiedFigure(type.name().toLowerCase());
+        }
 
-            double sideA = Double.parseDouble(args[1]);
-            double sideB = Double.parseDouble(args[2]);
+        return type.create(dimensions[0], dimensions[1], dimensions[2]);
+    }
 
-            return new Rectangle(sideA, sideB);
-        } else if (args[0].compareToIgnoreCase("circle") == 0) {
-            if (args.length != 4) {
-                throw new InvalidArgumentsToCreateSpecifiedFigure("circle");
-            }
+    // Returns null for lines which do not describe a figure
+    protected Figure getFigure(String line) {
+        String[] args = line.split(" ");
+        FigureType type = getFigureType(args[0]);
+
+        if (args.length - 1 != type.getDimensionsCount()) {
+            throw new InvalidArgumentsToCreateSpecifiedFigure(type.name().toLowerCase());
+        }
+
+        double[] dimensions = new double[FigureType.MAX_DIMENSIONS];
 
-            double radius = Double.parseDouble(args[1]);
+        if (type == FigureType.CIRCLE) {
             Point center = getCircleCenter(args[2] + args[3]);
 
-            return new Circle(radius, center);
+            dimensions[0] = Double.parseDouble(args[1]);
+            dimensions[1] = center.x();
+            dimensions[2] = center.y();
         } else {
-            throw new FigureTypeDoesNotExist();
+            for (int i = 0; i < type.getDimensionsCount(); i++) {
+                dimensions[i] = Double.parseDouble(args[i + 1]);
+            }
         }
+
+        return createFigure(type, dimensions, type.getDimensionsCount());
+    }
+
+    // Only checkpoint files hold tombstones, for any other input a line starting with '-' is not a figure
+    protected boolean replaysTombstones() {
+        return false;
     }
 
     // TODO: ask for try catch and what to do
@@ -76,28 +121,100 @@ public class StreamFigureFactory implements FigureFactoryAPI {
     public List<Figure> getFigures() {
         List<Figure> figures = new ArrayList<>();
 
-        try {
-            while (sc.hasNextLine()) {
-                String currLine = sc.nextLine();
+        if (!replaysTombstones()) {
+            readFigures(figures::add, figure -> { });
+            return figures;
+        }
 
+        // A tombstone deletes the first equal figure still alive, the queues keep their indices in order
+        Map<Figure, ArrayDeque<Integer>> alive = new HashMap<>();
+        BitSet deleted = new BitSet();
+
+        readFigures(figure -> {
+            alive.computeIfAbsent(figure, key -> new ArrayDeque<>()).addLast(figures.size());
+            figures.add(figure);
+        }, figure -> {
+            ArrayDeque<Integer> indices = alive.get(figure);
+
+            if (indices != null && !indices.isEmpty()) {
+                deleted.set(indices.pollFirst());
+            }
+        });
+
+        if (deleted.isEmpty()) {
+            return figures;
+        }
+
+        List<Figure> remaining = new ArrayList<>(figures.size() - deleted.cardinality());
+        for (int i = 0; i < figures.size(); i++) {
+            if (!deleted.get(i)) {
+                remaining.add(figures.get(i));
+            }
+        }
+
+        return remaining;
+    }
+
+    // Tombstones refer to figures already handed out, so streaming consumers do not see them
+    @Override
+    public void forEachFigure(Consumer<Figure> consumer) {
+        readFigures(consumer, figure -> { });
+    }
+
+    // A line which is not a valid figure is reported and skipped, the input is still read up to its end
+    private void readFigures(Consumer<Figure> added, Consumer<Figure> deleted) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        boolean tombstones = replaysTombstones();
+        String currLine;
+
+        try {
+            while ((currLine = lines.get()) != null) {
                 if (currLine.isBlank() || currLine.isEmpty()) {
                     break;
                 }
-
-                figures.add(getFigure(currLine));
-            }
-        } catch (FigureTypeDoesNotExist typeDoesNotExist) {
-            log(typeDoesNotExist.getMessage());
-        } catch (InvalidArgumentsToCreateSpecifiedFigure invalidArgumentsToCreateSpecifiedFigure) {
-            switch (invalidArgumentsToCreateSpecifiedFigure.getMessage()) {
-                case "triangle" -> log("Triangle input should look like this: <triangle> <sideA> <sideB> <sideC> \n");
-                case "rectangle" -> log("Rectangle input should look like this: <rectangle> <sideA> <sideB>");
-                case "circle" -> log("Circle input should look like this: <circle> <radius> <(x, y)>");
+                metrics.lineParsed();
+
+                try {
+                    if (tombstones && currLine.startsWith(FigureCollection.TOMBSTONE_PREFIX)) {
+                        Figure figure = getFigure(currLine.substring(FigureCollection.TOMBSTONE_PREFIX.length()));
+
+                        if (figure != null) {
+                            deleted.accept(figure);
+                        }
+                        continue;
+                    }
+
+                    Figure figure = getFigure(currLine);
+
+                    if (figure != null) {
+                        added.accept(figure);
+                    }
+                } catch (UncheckedIOException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    reportInvalidLine(metrics, ex);
+                }
             }
-        } catch (Exception ex) {
-            log(ex.getMessage());
+        } catch (UncheckedIOException ex) {
+            metrics.parseFailed(ex);
+            log(LogLevel.WARN, ex.getMessage());
         }
+    }
 
-        return figures;
+    private static void reportInvalidLine(MetricsRegistry metrics, Exception ex) {
+        metrics.parseFailed(ex);
+
+        if (ex instanceof InvalidArgumentsToCreateSpecifiedFigure) {
+            switch (ex.getMessage()) {
+                case "triangle" -> log(LogLevel.WARN,
+                    "Triangle input should look like this: <triangle> <sideA> <sideB> <sideC> \n");
+                case "rectangle" -> log(LogLevel.WARN,
+                    "Rectangle input should look like this: <rectangle> <sideA> <sideB>");
+                case "circle" -> log(LogLevel.WARN,
+                    "Circle input should look like this: <circle> <radius> <(x, y)>");
+            }
+        } else {
+            log(LogLevel.WARN, ex.getMessage());
+        }
     }
 }
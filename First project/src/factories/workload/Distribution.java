@@ -0,0 +1,27 @@
+package factories.workload;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+public interface Distribution {
+    double sample(RandomGenerator random);
+
+    // Parses <name>:<first>:<second> like uniform:1:100, lognormal:3:0.5 or zipf:1000:1.1
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Distribution should look like <name>:<first>:<second>!");
+        }
+
+        double first = Double.parseDouble(parts[1]);
+        double second = Double.parseDouble(parts[2]);
+
+        return switch (parts[0].toLowerCase(Locale.ROOT)) {
+            case "uniform" -> new UniformDistribution(first, second);
+            case "lognormal" -> new LogNormalDistribution(first, second);
+            case "zipf" -> new ZipfDistribution((int) first, second);
+            default -> throw new IllegalArgumentException("Unknown distribution " + parts[0] + "!");
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package factories.workload;
+
+import java.util.random.RandomGenerator;
+
+// The logarithm of the values is normally distributed with the given mean and deviation
+public record LogNormalDistribution(double mu, double sigma) implements Distribution {
+    public LogNormalDistribution {
+        if (!(sigma > 0)) {
+            throw new IllegalArgumentException("Log-normal deviation should be positive!");
+        }
+    }
+
+    @Override
+    public double sample(RandomGenerator random) {
+        return Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,16 @@
+package factories.workload;
+
+import java.util.random.RandomGenerator;
+
+public record UniformDistribution(double min, double max) implements Distribution {
+    public UniformDistribution {
+        if (!(min < max)) {
+            throw new IllegalArgumentException("Uniform distribution minimum should be less than its maximum!");
+        }
+    }
+
+    @Override
+    public double sample(RandomGenerator random) {
+        return random.nextDouble(min, max);
+    }
+}
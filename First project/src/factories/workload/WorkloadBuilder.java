@@ -0,0 +1,139 @@
+package factories.workload;
+
+import figures.FigureType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class WorkloadBuilder {
+    private final Map<FigureType, Double> mix = new EnumMap<>(FigureType.class);
+    private int count;
+    private long seed = System.nanoTime();
+    private Distribution sizes = new UniformDistribution(1, 100);
+    private Distribution coordinates = new UniformDistribution(-100, 100);
+    private double duplicateRate;
+    private double duplicateSkew = 1;
+    private double burstLength = 1;
+
+    public WorkloadBuilder() {
+        for (FigureType type : FigureType.values()) {
+            mix.put(type, 1.0);
+        }
+    }
+
+    // Reads the keys seed, triangle, rectangle, circle, sizes, coordinates,
+    // duplicateRate, duplicateSkew and burstLength, the missing ones keep their defaults
+    public static WorkloadBuilder fromProperties(Properties properties) {
+        WorkloadBuilder builder = new WorkloadBuilder();
+
+        if (properties.containsKey("seed")) {
+            builder.setSeed(Long.parseLong(properties.getProperty("seed").trim()));
+        }
+        for (FigureType type : FigureType.values()) {
+            String weight = properties.getProperty(type.name().toLowerCase());
+            if (weight != null) {
+                builder.setMix(type, Double.parseDouble(weight.trim()));
+            }
+        }
+        if (properties.containsKey("sizes")) {
+            builder.setSizes(Distribution.parse(properties.getProperty("sizes")));
+        }
+        if (properties.containsKey("coordinates")) {
+            builder.setCoordinates(Distribution.parse(properties.getProperty("coordinates")));
+        }
+        if (properties.containsKey("duplicateRate")) {
+            builder.setDuplicateRate(Double.parseDouble(properties.getProperty("duplicateRate").trim()));
+        }
+        if (properties.containsKey("duplicateSkew")) {
+            builder.setDuplicateSkew(Double.parseDouble(properties.getProperty("duplicateSkew").trim()));
+        }
+        if (properties.containsKey("burstLength")) {
+            builder.setBurstLength(Double.parseDouble(properties.getProperty("burstLength").trim()));
+        }
+
+        return builder;
+    }
+
+    public WorkloadBuilder setCount(int count) {
+        this.count = Math.max(count, 0);
+        return this;
+    }
+
+    public WorkloadBuilder setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    // Weights are relative, a type with weight 0 is not generated
+    public WorkloadBuilder setMix(FigureType type, double weight) {
+        if (!(weight >= 0)) {
+            throw new IllegalArgumentException("Mix weight should not be negative!");
+        }
+
+        mix.put(type, weight);
+        return this;
+    }
+
+    // Sides and radiuses should be positive, so the distribution should only give positive values
+    public WorkloadBuilder setSizes(Distribution sizes) {
+        this.sizes = sizes;
+        return this;
+    }
+
+    public WorkloadBuilder setCoordinates(Distribution coordinates) {
+        this.coordinates = coordinates;
+        return this;
+    }
+
+    // Share of figures that repeat an already generated one
+    public WorkloadBuilder setDuplicateRate(double duplicateRate) {
+        if (!(duplicateRate >= 0 && duplicateRate <= 1)) {
+            throw new IllegalArgumentException("Duplicate rate should be between 0 and 1!");
+        }
+
+        this.duplicateRate = duplicateRate;
+        return this;
+    }
+
+    // Zipf exponent of the repeated figures, the first generated figures are repeated the most
+    public WorkloadBuilder setDuplicateSkew(double duplicateSkew) {
+        this.duplicateSkew = duplicateSkew;
+        return this;
+    }
+
+    // Average count of figures of the same type generated one after another
+    public WorkloadBuilder setBurstLength(double burstLength) {
+        if (!(burstLength >= 1)) {
+            throw new IllegalArgumentException("Burst length should be at least 1!");
+        }
+
+        this.burstLength = burstLength;
+        return this;
+    }
+
+    public WorkloadFigureFactory build() {
+        double total = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("At least one figure type should have a positive weight!");
+        }
+
+        // The last type with a weight ends at exactly 1, so rounding can not pick a type without weight
+        double[] cumulativeMix = new double[FigureType.values().length];
+        double sum = 0;
+        for (FigureType type : FigureType.values()) {
+            sum += mix.get(type) / total;
+            cumulativeMix[type.ordinal()] = sum;
+        }
+        for (int i = cumulativeMix.length - 1; i >= 0; i--) {
+            if (mix.get(FigureType.values()[i]) > 0) {
+                cumulativeMix[i] = 1;
+                break;
+            }
+        }
+
+        return new WorkloadFigureFactory(count, seed, cumulativeMix, sizes, coordinates, duplicateRate,
+            new ZipfDistribution(WorkloadFigureFactory.DUPLICATES_POOL_SIZE, duplicateSkew), burstLength);
+    }
+}
@@ -0,0 +1,144 @@
+package factories.workload;
+
+import collections.binary.Precision;
+import collections.offheap.OffHeapFigureCollection;
+import factories.methods.FigureFactoryAPI;
+import figures.Circle;
+import figures.Figure;
+import figures.FigureType;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+// Generates the same figures for the same seed and settings, every call starts over from the seed
+public class WorkloadFigureFactory implements FigureFactoryAPI {
+    // Only the first generated distinct figures are kept to be repeated
+    static final int DUPLICATES_POOL_SIZE = 1 << 16;
+
+    private final int count;
+    private final long seed;
+    private final double[] cumulativeMix;
+    private final Distribution sizes;
+    private final Distribution coordinates;
+    private final double duplicateRate;
+    private final ZipfDistribution duplicates;
+    private final double burstLength;
+
+    WorkloadFigureFactory(int count, long seed, double[] cumulativeMix, Distribution sizes,
+                          Distribution coordinates, double duplicateRate, ZipfDistribution duplicates,
+                          double burstLength) {
+        this.count = count;
+        this.seed = seed;
+        this.cumulativeMix = cumulativeMix;
+        this.sizes = sizes;
+        this.coordinates = coordinates;
+        this.duplicateRate = duplicateRate;
+        this.duplicates = duplicates;
+        this.burstLength = burstLength;
+    }
+
+    private FigureType nextType(SplittableRandom random) {
+        double value = random.nextDouble();
+
+        for (FigureType type : FigureType.values()) {
+            if (value < cumulativeMix[type.ordinal()]) {
+                return type;
+            }
+        }
+
+        return FigureType.values()[cumulativeMix.length - 1];
+    }
+
+    private double nextSize(SplittableRandom random) {
+        double size = sizes.sample(random);
+
+        if (!(size > 0)) {
+            throw new IllegalArgumentException("Sizes distribution should give positive values!");
+        }
+
+        return size;
+    }
+
+    private Figure nextFigure(FigureType type, SplittableRandom random) {
+        return switch (type) {
+            case TRIANGLE -> new Triangle(nextSize(random), nextSize(random), nextSize(random));
+            case RECTANGLE -> new Rectangle(nextSize(random), nextSize(random));
+            case CIRCLE -> new Circle(nextSize(random),
+                new Point(coordinates.sample(random), coordinates.sample(random)));
+        };
+    }
+
+    @Override
+    public List<Figure> getFigures() {
+        List<Figure> figures = new ArrayList<>();
+
+        forEachFigure(figures::add);
+
+        return figures;
+    }
+
+    @Override
+    public void forEachFigure(Consumer<Figure> consumer) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Figure> pool = new ArrayList<>();
+        FigureType type = nextType(random);
+
+        for (int i = 0; i < count; i++) {
+            if (random.nextDouble() * burstLength < 1) {
+                type = nextType(random);
+            }
+
+            if (!pool.isEmpty() && random.nextDouble() < duplicateRate) {
+                Figure repeated = pool.get((duplicates.sampleRank(random) - 1) % pool.size());
+
+                try {
+                    consumer.accept(repeated.clone());
+                } catch (CloneNotSupportedException ex) {
+                    consumer.accept(repeated);
+                }
+                continue;
+            }
+
+            Figure figure = nextFigure(type, random);
+            if (pool.size() < DUPLICATES_POOL_SIZE) {
+                pool.add(figure);
+            }
+            consumer.accept(figure);
+        }
+    }
+
+    // Writes the figures as text lines that the file figure factory reads back
+    public void writeText(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            forEachFigure(figure -> {
+                try {
+                    writer.write(figure.toString());
+                    writer.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    // Writes the figures as a binary store that OffHeapFigureCollection opens without parsing
+    public void writeBinary(Path path, Precision precision) throws IOException {
+        Files.deleteIfExists(path);
+
+        try (OffHeapFigureCollection store = OffHeapFigureCollection.open(path, precision)) {
+            forEachFigure(store::add);
+        }
+    }
+}
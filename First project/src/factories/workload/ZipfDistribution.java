@@ -0,0 +1,40 @@
+package factories.workload;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Ranks from 1 to elements, the probability of a rank is proportional to 1 / rank^exponent
+public class ZipfDistribution implements Distribution {
+    private final double[] cumulative;
+
+    public ZipfDistribution(int elements, double exponent) {
+        if (elements <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf elements should be positive and its exponent not negative!");
+        }
+
+        cumulative = new double[elements];
+        double sum = 0;
+        for (int i = 0; i < elements; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < elements; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int getElements() {
+        return cumulative.length;
+    }
+
+    public int sampleRank(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1) + 1;
+    }
+
+    @Override
+    public double sample(RandomGenerator random) {
+        return sampleRank(random);
+    }
+}
@@ -31,6 +31,14 @@ public class Circle implements Figure {
         return perimeter;
     }
 
+    public double getRadius() {
+        return radius;
+    }
+
+    public Point getCenter() {
+        return center;
+    }
+
     @Override
     public Figure clone() throws CloneNotSupportedException {
         return (Figure) super.clone();
@@ -0,0 +1,61 @@
+package figures;
+
+import exceptions.FigureTypeDoesNotExist;
+
+public enum FigureType {
+    TRIANGLE(3), RECTANGLE(2), CIRCLE(3);
+
+    public static final int MAX_DIMENSIONS = 3;
+
+    private final int dimensionsCount;
+
+    FigureType(int dimensionsCount) {
+        this.dimensionsCount = dimensionsCount;
+    }
+
+    public int getDimensionsCount() {
+        return dimensionsCount;
+    }
+
+    public static FigureType of(Figure figure) {
+        if (figure instanceof Triangle) {
+            return TRIANGLE;
+        } else if (figure instanceof Rectangle) {
+            return RECTANGLE;
+        } else if (figure instanceof Circle) {
+            return CIRCLE;
+        }
+
+        throw new FigureTypeDoesNotExist();
+    }
+
+    // Dimensions are the normalized values the figure keeps (sorted sides, radius and center)
+    public static double[] dimensionsOf(Figure figure) {
+        if (figure instanceof Triangle triangle) {
+            return new double[] {triangle.getSideA(), triangle.getSideB(), triangle.getSideC()};
+        } else if (figure instanceof Rectangle rectangle) {
+            return new double[] {rectangle.getSideA(), rectangle.getSideB(), 0};
+        } else if (figure instanceof Circle circle) {
+            return new double[] {circle.getRadius(), circle.getCenter().x(), circle.getCenter().y()};
+        }
+
+        throw new FigureTypeDoesNotExist();
+    }
+
+    // Gives the same value as getPerimeter of the figure created from these dimensions
+    public double perimeterOf(double first, double second, double third) {
+        return switch (this) {
+            case TRIANGLE -> first + second + third;
+            case RECTANGLE -> 2 * (first + second);
+            case CIRCLE -> 2 * Math.PI * first;
+        };
+    }
+
+    public Figure create(double first, double second, double third) {
+        return switch (this) {
+            case TRIANGLE -> new Triangle(first, second, third);
+            case RECTANGLE -> new Rectangle(first, second);
+            case CIRCLE -> new Circle(first, new Point(second, third));
+        };
+    }
+}
@@ -22,7 +22,7 @@ public class Rectangle implements Figure {
         df = new DecimalFormat("#.####");
 
         this.sideA = Math.max(sideA, sideB);
-        this.sideB = sideA + sideB - this.sideA;
+        this.sideB = Math.min(sideA, sideB);
         perimeter = 2 * (sideA + sideB);
     }
 
@@ -31,6 +31,14 @@ public class Rectangle implements Figure {
         return perimeter;
     }
 
+    public double getSideA() {
+        return sideA;
+    }
+
+    public double getSideB() {
+        return sideB;
+    }
+
     @Override
     public Figure clone() throws CloneNotSupportedException {
         return (Figure) super.clone();
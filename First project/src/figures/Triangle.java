@@ -27,7 +27,7 @@ public class Triangle implements Figure {
         perimeter = sideA + sideB + sideC;
         this.sideA = Math.max(sideA, Math.max(sideB, sideC));
         this.sideC = Math.min(sideC, Math.min(sideB, sideA));
-        this.sideB = perimeter - this.sideA - this.sideC;
+        this.sideB = Math.max(Math.min(sideA, sideB), Math.min(Math.max(sideA, sideB), sideC));
     }
 
     @Override
@@ -35,6 +35,18 @@ public class Triangle implements Figure {
         return perimeter;
     }
 
+    public double getSideA() {
+        return sideA;
+    }
+
+    public double getSideB() {
+        return sideB;
+    }
+
+    public double getSideC() {
+        return sideC;
+    }
+
     @Override
     public Figure clone() throws CloneNotSupportedException {
         return (Figure) super.clone();
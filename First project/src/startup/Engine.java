@@ -2,22 +2,40 @@ package startup;
 
 import collections.FigureCollection;
 import collections.FigureCollectionAPI;
+import collections.async.StoreHandle;
+import collections.dedup.DeduplicatingFigureCollection;
+import collections.persistent.UndoableFigureCollection;
+import collections.spatial.SpatialJoin;
+import collections.spill.SpillingFigureCollection;
 import factories.asbstract.AbstractFigureFactory;
 import factories.methods.FigureFactoryAPI;
+import figures.Rectangle;
+import utilities.logging.LogLevel;
+import utilities.metrics.MetricsRegistry;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.concurrent.atomic.LongAdder;
 
+import static utilities.MyLogger.flush;
 import static utilities.MyLogger.log;
 
 public class Engine {
+    private static final String COMMANDS_PROMPT = "Enter command(<Print>, <Delete [index]>, <Duplicate [index]>, " +
+        "<Store [filename] [appendValue](0 for no append, 1 for append)>, <Checkpoint [filename]>, " +
+        "<Sort [type]>, <Dedup [epsilon]>, <StoreAsync [filename] [appendValue]>, <Stores>, " +
+        "<Cancel [store index]>, <Undo>, <Redo>, <Overlaps>, <Fit [sideA] [sideB]>): ";
 
     private int parseIndex(String line) {
         try {
             return Integer.parseInt(line.split(" ")[1]);
         } catch (NumberFormatException numberFormatException) {
-            log("Invalid input!");
+            log(LogLevel.WARN, "Invalid input!");
         }
         return -1;
     }
@@ -30,20 +48,98 @@ public class Engine {
         try {
             return Objects.equals(line.split(" ")[2], "1");
         } catch (NumberFormatException numberFormatException) {
-            log("Invalid input!");
+            log(LogLevel.WARN, "Invalid input!");
         }
         return false;
     }
 
+    private String readCommand(BufferedReader console) throws IOException {
+        String command = console.readLine();
+        return command == null ? "" : command;
+    }
+
+    // With -Dfigures.dedup.epsilon=<epsilon> figures near an already added one are skipped
+    private FigureCollectionAPI createCollection() {
+        FigureCollectionAPI figureCollection = createStorage();
+        String epsilon = System.getProperty("figures.dedup.epsilon");
+
+        if (epsilon == null) {
+            return figureCollection;
+        }
+
+        try {
+            return new DeduplicatingFigureCollection(figureCollection, Double.parseDouble(epsilon));
+        } catch (IllegalArgumentException ex) {
+            log(LogLevel.WARN, "Invalid dedup epsilon, all figures will be kept!");
+        }
+
+        return figureCollection;
+    }
+
+    private double parseEpsilon(String line) {
+        return Double.parseDouble(line.split(" ")[1]);
+    }
+
+    // With -Dfigures.memory.budget=<bytes> the figures over the budget are spilled to disk, otherwise
+    // with -Dfigures.undo.history=<count> the last changes can be undone. The history is off by default,
+    // because only the plain collection tracks changes and appends them on checkpoint instead of rewriting
+    private FigureCollectionAPI createStorage() {
+        String memoryBudget = System.getProperty("figures.memory.budget");
+
+        if (memoryBudget == null) {
+            return createHistory();
+        }
+
+        try {
+            return new SpillingFigureCollection(Long.parseLong(memoryBudget));
+        } catch (NumberFormatException | IOException ex) {
+            log(LogLevel.WARN, "Invalid memory budget, all figures will be kept in memory!");
+        }
+
+        return new FigureCollection();
+    }
+
+    private FigureCollectionAPI createHistory() {
+        try {
+            int history = Integer.parseInt(System.getProperty("figures.undo.history", "0"));
+
+            if (history > 0) {
+                return new UndoableFigureCollection(history);
+            }
+        } catch (NumberFormatException ex) {
+            log(LogLevel.WARN, "Invalid undo history, changes can't be undone!");
+        }
+
+        return new FigureCollection();
+    }
+
+    private void awaitBackgroundStores(List<StoreHandle> backgroundStores) {
+        for (StoreHandle store : backgroundStores) {
+            try {
+                store.await();
+            } catch (IOException ex) {
+                log(LogLevel.WARN, "Background store into " + store.getPath() + " failed: " + ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     void start() {
         Locale.setDefault(Locale.ENGLISH);
 
-        FigureCollectionAPI figureCollection = new FigureCollection();
-        Scanner scanner = new Scanner(System.in);
+        FigureCollectionAPI figureCollection = createCollection();
+        BufferedReader console = new BufferedReader(new InputStreamReader(System.in));
+
+        List<StoreHandle> backgroundStores = new ArrayList<>();
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.watchCollection(figureCollection::size, figureCollection::estimateHeapBytes);
+        metrics.registerMBeans();
 
         while (true) {
             try {
-                AbstractFigureFactory abstractFigureFactory = new AbstractFigureFactory(scanner);
+                AbstractFigureFactory abstractFigureFactory = new AbstractFigureFactory(console);
                 FigureFactoryAPI figureFactory = abstractFigureFactory.create();
                 figureCollection.addRange(figureFactory.getFigures());
                 break;
@@ -52,14 +148,20 @@ public class Engine {
             }
         }
 
-        log("Enter command(<Print>, <Delete [index]>, " + "<Duplicate [index]> " +
-            "<Store [filename] [appendValue](0 for no append, 1 for append)>: ");
-        String command = scanner.nextLine();
+        log(COMMANDS_PROMPT);
 
         try {
+            String command = readCommand(console);
+
             while (!command.isBlank() && !command.isEmpty()) {
-                switch (command.split(" ")[0].toLowerCase()) {
-                    case "print" -> System.out.printf(figureCollection.toString());
+                String commandName = command.split(" ")[0].toLowerCase();
+                long commandStart = System.nanoTime();
+
+                switch (commandName) {
+                    case "print" -> {
+                        flush();
+                        System.out.print(figureCollection);
+                    }
                     case "delete" -> {
                         int parsedIndex = parseIndex(command);
                         if (parsedIndex >= 0) {
@@ -73,14 +175,67 @@ public class Engine {
                         }
                     }
                     case "store" -> figureCollection.storeIntoFile(parseFileName(command), parseAppendInfo(command));
+                    case "checkpoint" -> figureCollection.storeIncrementally(parseFileName(command));
+                    case "storeasync" -> {
+                        StoreHandle store = figureCollection.storeAsync(parseFileName(command),
+                            parseAppendInfo(command));
+                        store.onCompletion(done -> log("Background store " + done + "\n"));
+                        backgroundStores.add(store);
+                    }
+                    case "stores" -> {
+                        for (int i = 0; i < backgroundStores.size(); i++) {
+                            log(i + ": " + backgroundStores.get(i) + "\n");
+                        }
+                    }
+                    case "cancel" -> {
+                        int parsedIndex = parseIndex(command);
+                        if (parsedIndex >= 0) {
+                            backgroundStores.get(parsedIndex).cancel();
+                        }
+                    }
+                    case "dedup" -> log("Removed " + figureCollection.deduplicate(parseEpsilon(command)) +
+                        " near duplicate figures\n");
+                    case "undo" -> {
+                        if (!figureCollection.undo()) {
+                            log(LogLevel.WARN, "Nothing to undo!");
+                        }
+                    }
+                    case "redo" -> {
+                        if (!figureCollection.redo()) {
+                            log(LogLevel.WARN, "Nothing to redo!");
+                        }
+                    }
+                    case "overlaps" -> {
+                        LongAdder overlaps = new LongAdder();
+                        SpatialJoin.overlappingCircles(figureCollection, (first, second) -> overlaps.increment());
+                        log("Found " + overlaps.sum() + " pairs of overlapping circles\n");
+                    }
+                    case "fit" -> {
+                        String[] sides = command.split(" ");
+                        Rectangle sizeClass = new Rectangle(Double.parseDouble(sides[1]), Double.parseDouble(sides[2]));
+                        flush();
+                        SpatialJoin.fittingCircles(figureCollection, sizeClass, System.out::println);
+                    }
+                    case "sort" -> {
+                        if (command.toLowerCase().endsWith(" type")) {
+                            figureCollection.sortByTypeThenPerimeter();
+                        } else {
+                            figureCollection.sortByPerimeter();
+                        }
+                    }
+                    default -> commandName = null;
+                }
+                if (commandName != null) {
+                    metrics.recordCommand(commandName, System.nanoTime() - commandStart);
                 }
-                log("Enter command(<Print>, <Delete [index]>, " + "<Duplicate [index] " +
-                    "<Store [filename]> [appendValue](0 for no append, 1 for append)>): ");
-                command = scanner.nextLine();
+                log(COMMANDS_PROMPT);
+                command = readCommand(console);
             }
         } catch (Exception ex) {
-            log("Invalid command!");
+            log(LogLevel.WARN, "Invalid command!");
         }
+        awaitBackgroundStores(backgroundStores);
         log("Ended.");
+        flush();
     }
 }
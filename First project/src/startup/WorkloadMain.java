@@ -0,0 +1,42 @@
+package startup;
+
+import collections.binary.Precision;
+import factories.workload.WorkloadBuilder;
+import factories.workload.WorkloadFigureFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static utilities.MyFileParser.getConfig;
+import static utilities.MyLogger.flush;
+import static utilities.MyLogger.log;
+
+// Writes a generated dataset for benchmarks: <count> <file name> [text|binary|compact] [config path]
+public class WorkloadMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            log("Usage: <count> <file name> [text|binary|compact] [config path]\n");
+            flush();
+            return;
+        }
+
+        String format = args.length > 2 ? args[2] : "text";
+        String config = args.length > 3 ? args[3] : "./resources/config/workload.txt";
+        Path output = Path.of("./resources/output/" + args[1]);
+
+        WorkloadFigureFactory workload = WorkloadBuilder.fromProperties(getConfig(config))
+            .setCount(Integer.parseInt(args[0]))
+            .build();
+
+        long start = System.nanoTime();
+        switch (format) {
+            case "binary" -> workload.writeBinary(output, Precision.DOUBLE);
+            case "compact" -> workload.writeBinary(output, Precision.FLOAT);
+            default -> workload.writeText(output);
+        }
+
+        log(String.format("Wrote %s figures to %s in %d ms", args[0], output,
+            (System.nanoTime() - start) / 1_000_000));
+        flush();
+    }
+}
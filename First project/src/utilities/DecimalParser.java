@@ -0,0 +1,63 @@
+package utilities;
+
+// Parses a decimal number straight from a region of the input without creating a substring.
+// Plain decimals with up to 15-16 significant digits are computed exactly as one correctly rounded
+// division, anything else (exponents, long mantissas, NaN...) falls back to Double.parseDouble.
+public class DecimalParser {
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    public static double parse(CharSequence text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+
+        int index = from;
+        boolean negative = false;
+
+        if (index < to && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean hasDigits = false;
+        boolean hasDot = false;
+
+        for (; index < to; index++) {
+            char current = text.charAt(index);
+
+            if (current >= '0' && current <= '9') {
+                mantissa = mantissa * 10 + (current - '0');
+                hasDigits = true;
+
+                if (hasDot) {
+                    fractionDigits++;
+                }
+                if (mantissa > MAX_EXACT_MANTISSA) {
+                    break;
+                }
+            } else if (current == '.' && !hasDot) {
+                hasDot = true;
+            } else {
+                break;
+            }
+        }
+
+        if (index != to || !hasDigits || mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(text.subSequence(from, to).toString());
+        }
+
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+
+        return negative ? -value : value;
+    }
+}
@@ -1,11 +1,14 @@
 package utilities;
 
+import utilities.logging.LogLevel;
+
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Locale;
+import java.util.Properties;
 import java.util.Scanner;
 
 import static utilities.MyLogger.log;
@@ -22,11 +25,26 @@ public class MyFileParser {
             fileInputStream.close();
             scanner.close();
         } catch (FileNotFoundException ex) {
-            log("Invalid random config!\n");
+            log(LogLevel.WARN, "Invalid random config!\n");
         } catch (IOException ex) {
-            log(ex.getMessage());
+            log(LogLevel.WARN, ex.getMessage());
         }
 
         return maxFigureValue;
     }
+
+    // Reads <key>=<value> lines, a missing or unreadable config gives no keys
+    public static Properties getConfig(String path) {
+        Properties properties = new Properties();
+
+        try (FileInputStream fileInputStream = new FileInputStream(path)) {
+            properties.load(fileInputStream);
+        } catch (FileNotFoundException ex) {
+            log(LogLevel.WARN, "Config " + path + " is not found!\n");
+        } catch (IOException ex) {
+            log(LogLevel.WARN, ex.getMessage());
+        }
+
+        return properties;
+    }
 }
@@ -1,7 +1,20 @@
 package utilities;
 
+import utilities.logging.AsyncLogger;
+import utilities.logging.LogLevel;
+
 public class MyLogger {
+    private static final AsyncLogger LOGGER = AsyncLogger.console();
+
     public static void log(String message) {
-        System.out.printf(message + '\n');
+        LOGGER.log(LogLevel.INFO, message);
+    }
+
+    public static void log(LogLevel level, String message) {
+        LOGGER.log(level, message);
+    }
+
+    public static void flush() {
+        LOGGER.flush();
     }
 }
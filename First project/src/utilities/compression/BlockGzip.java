@@ -0,0 +1,223 @@
+package utilities.compression;
+
+import utilities.metrics.MetricsRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+// Compressed figure files are a sequence of independent gzip members, every member holds one block and
+// carries its own size in an extra field (subfield "FB"), like BGZF does. Any gzip tool reads such a file,
+// appending new members keeps it valid and readers find the block boundaries without inflating anything,
+// so the blocks can be compressed and inflated in parallel.
+public final class BlockGzip {
+    public static final String EXTENSION = ".gz";
+
+    static final int BLOCK_SIZE = 1 << 18;
+
+    private static final int MAGIC_FIRST = 0x1f;
+    private static final int MAGIC_SECOND = 0x8b;
+    private static final int DEFLATE = 8;
+    private static final int FLAG_HEADER_CRC = 2;
+    private static final int FLAG_EXTRA = 4;
+    private static final int FLAG_NAME = 8;
+    private static final int FLAG_COMMENT = 16;
+    private static final int UNKNOWN_OS = 255;
+    private static final byte SUBFIELD_FIRST = 'F';
+    private static final byte SUBFIELD_SECOND = 'B';
+
+    // Fixed header, XLEN, subfield id, subfield length and the member size
+    static final int HEADER_SIZE = 10 + 2 + 4 + 4;
+    private static final int TRAILER_SIZE = 8;
+
+    private BlockGzip() {
+    }
+
+    public static boolean isCompressed(String path) {
+        return path.endsWith(EXTENSION);
+    }
+
+    // The bytes which reach the file, after the compression, are added to the written bytes metric on close
+    public static OutputStream newOutputStream(Path file, boolean append, boolean compressed) throws IOException {
+        OutputStream output = new MeteredOutputStream(new FileOutputStream(file.toFile(), append));
+
+        return compressed ? new BlockGzipOutputStream(output) : new BufferedOutputStream(output);
+    }
+
+    private static final class MeteredOutputStream extends FilterOutputStream {
+        private long written;
+
+        private MeteredOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            written += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                MetricsRegistry.global().bytesWritten(written);
+                written = 0;
+            }
+        }
+    }
+
+    // Looks at the first two bytes and resets the stream, so nothing is consumed
+    public static boolean isCompressed(BufferedInputStream input) throws IOException {
+        input.mark(2);
+
+        try {
+            return input.read() == MAGIC_FIRST && input.read() == MAGIC_SECOND;
+        } finally {
+            input.reset();
+        }
+    }
+
+    // Framed files are inflated block by block in parallel, gzip files of other tools sequentially
+    public static InputStream decompressing(BufferedInputStream input) throws IOException {
+        input.mark(HEADER_SIZE);
+        byte[] header = input.readNBytes(HEADER_SIZE);
+        input.reset();
+
+        if (memberSize(header) > 0) {
+            return new BlockGzipInputStream(input);
+        }
+
+        return new GZIPInputStream(input);
+    }
+
+    // Size of the whole member taken from the header, or -1 when the header is not a framed one
+    static int memberSize(byte[] header) {
+        if (header.length < HEADER_SIZE || (header[0] & 0xff) != MAGIC_FIRST || (header[1] & 0xff) != MAGIC_SECOND ||
+            header[2] != DEFLATE || (header[3] & FLAG_EXTRA) == 0) {
+            return -1;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getShort(10) < 8 || header[12] != SUBFIELD_FIRST || header[13] != SUBFIELD_SECOND ||
+            buffer.getShort(14) != 4) {
+            return -1;
+        }
+
+        return buffer.getInt(16);
+    }
+
+    // One whole member holding the given bytes as its block
+    public static byte[] compress(byte[] data, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] member = new byte[HEADER_SIZE + length + length / 1000 + 64 + TRAILER_SIZE];
+        int size = HEADER_SIZE;
+
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                if (size == member.length - TRAILER_SIZE) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                size += deflater.deflate(member, size, member.length - TRAILER_SIZE - size);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+
+        size += TRAILER_SIZE;
+        ByteBuffer buffer = ByteBuffer.wrap(member, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) MAGIC_FIRST).put((byte) MAGIC_SECOND).put((byte) DEFLATE).put((byte) FLAG_EXTRA)
+            .putInt(0).put((byte) 0).put((byte) UNKNOWN_OS)
+            .putShort((short) 8).put(SUBFIELD_FIRST).put(SUBFIELD_SECOND).putShort((short) 4).putInt(size);
+        buffer.putInt(size - TRAILER_SIZE, (int) crc.getValue());
+        buffer.putInt(size - 4, length);
+
+        return Arrays.copyOf(member, size);
+    }
+
+    // Inflates one whole member and checks its CRC and length
+    static byte[] decompress(byte[] member) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(member).order(ByteOrder.LITTLE_ENDIAN);
+        int flags = member[3];
+        int position = 10 + 2 + (buffer.getShort(10) & 0xffff);
+
+        if ((flags & FLAG_NAME) != 0) {
+            position = skipZeroTerminated(member, position);
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            position = skipZeroTerminated(member, position);
+        }
+        if ((flags & FLAG_HEADER_CRC) != 0) {
+            position += 2;
+        }
+
+        int expectedCrc = buffer.getInt(member.length - TRAILER_SIZE);
+        byte[] data = new byte[buffer.getInt(member.length - 4)];
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(member, position, member.length - TRAILER_SIZE - position);
+            int inflated = 0;
+
+            while (inflated < data.length && !inflater.finished()) {
+                int count = inflater.inflate(data, inflated, data.length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+
+            if (inflated != data.length) {
+                throw new IOException("Compressed block is truncated!");
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Compressed block is corrupted!", ex);
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Compressed block has a wrong checksum!");
+        }
+
+        return data;
+    }
+
+    private static int skipZeroTerminated(byte[] member, int position) {
+        while (member[position] != 0) {
+            position++;
+        }
+
+        return position + 1;
+    }
+}
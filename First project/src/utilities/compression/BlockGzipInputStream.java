@@ -0,0 +1,122 @@
+package utilities.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+// Reads the framed members ahead and inflates them on the common pool, a few blocks per processor at a time,
+// while the bytes are handed out in the order of the blocks.
+public class BlockGzipInputStream extends InputStream {
+    private final InputStream input;
+    private final int window;
+    private final Deque<CompletableFuture<byte[]>> pending;
+
+    private byte[] block;
+    private int position;
+    private boolean endOfInput;
+
+    public BlockGzipInputStream(InputStream input) {
+        this.input = input;
+        this.window = 2 * Runtime.getRuntime().availableProcessors();
+        this.pending = new ArrayDeque<>();
+        this.block = new byte[0];
+    }
+
+    private void readAhead() throws IOException {
+        while (!endOfInput && pending.size() < window) {
+            byte[] header = input.readNBytes(BlockGzip.HEADER_SIZE);
+
+            if (header.length == 0) {
+                endOfInput = true;
+                return;
+            }
+
+            int size = BlockGzip.memberSize(header);
+            if (size < BlockGzip.HEADER_SIZE) {
+                throw new IOException("Compressed input is not framed into blocks!");
+            }
+
+            byte[] member = new byte[size];
+            System.arraycopy(header, 0, member, 0, header.length);
+
+            if (input.readNBytes(member, header.length, size - header.length) != size - header.length) {
+                throw new IOException("Compressed input is truncated!");
+            }
+
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return BlockGzip.decompress(member);
+                } catch (IOException ex) {
+                    throw new CompletionException(ex);
+                }
+            }));
+        }
+    }
+
+    // Moves to the next non-empty block, false at the end of the input
+    private boolean nextBlock() throws IOException {
+        while (position == block.length) {
+            readAhead();
+
+            if (pending.isEmpty()) {
+                return false;
+            }
+
+            try {
+                block = pending.poll().get();
+                position = 0;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Decompression was interrupted!", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw new IOException("Decompression failed!", ex.getCause());
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextBlock()) {
+            return -1;
+        }
+
+        return block[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!nextBlock()) {
+            return -1;
+        }
+
+        int count = Math.min(length, block.length - position);
+        System.arraycopy(block, position, buffer, offset, count);
+        position += count;
+
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return block.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pending.clear();
+        input.close();
+    }
+}
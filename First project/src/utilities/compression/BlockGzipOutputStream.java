@@ -0,0 +1,110 @@
+package utilities.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+// Collects the written bytes into blocks and compresses every full block on the common pool. The members
+// are written in the order of their blocks and only a few blocks per processor are pending at a time.
+public class BlockGzipOutputStream extends OutputStream {
+    private final OutputStream output;
+    private final int window;
+    private final Deque<CompletableFuture<byte[]>> pending;
+
+    private byte[] block;
+    private int blockSize;
+    private boolean anyBlockWritten;
+    private boolean closed;
+
+    public BlockGzipOutputStream(OutputStream output) {
+        this.output = output;
+        this.window = 2 * Runtime.getRuntime().availableProcessors();
+        this.pending = new ArrayDeque<>();
+        this.block = new byte[BlockGzip.BLOCK_SIZE];
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (blockSize == block.length) {
+            submitBlock();
+        }
+
+        block[blockSize++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (blockSize == block.length) {
+                submitBlock();
+            }
+
+            int count = Math.min(length, block.length - blockSize);
+            System.arraycopy(data, offset, block, blockSize, count);
+            blockSize += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] full = block;
+        int size = blockSize;
+
+        pending.add(CompletableFuture.supplyAsync(() -> BlockGzip.compress(full, 0, size)));
+        anyBlockWritten = true;
+        block = new byte[BlockGzip.BLOCK_SIZE];
+        blockSize = 0;
+
+        while (pending.size() >= window) {
+            writeMember(pending.poll());
+        }
+    }
+
+    private void writeMember(CompletableFuture<byte[]> member) throws IOException {
+        try {
+            output.write(member.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compression was interrupted!", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Compression failed!", ex.getCause());
+        }
+    }
+
+    // Writes the partial block too, so the output ends with a complete member
+    @Override
+    public void flush() throws IOException {
+        if (blockSize > 0) {
+            submitBlock();
+        }
+
+        while (!pending.isEmpty()) {
+            writeMember(pending.poll());
+        }
+
+        output.flush();
+    }
+
+    // An empty output still gets one empty member, so it stays a valid gzip file
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (!anyBlockWritten && blockSize == 0) {
+                output.write(BlockGzip.compress(block, 0, 0));
+            }
+
+            flush();
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package utilities.logging;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Callers only enqueue the message; a background thread writes the queued messages in batches.
+public final class AsyncLogger implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 13;
+    public static final int DEFAULT_BATCH_BYTES = 1 << 16;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final LogRingBuffer ringBuffer;
+    private final WritableByteChannel channel;
+    private final ByteBuffer batch;
+    private final OverflowPolicy overflowPolicy;
+    private final LogLevel minimumLevel;
+    private final LongAdder droppedMessages;
+    private final Thread writer;
+
+    private volatile long writtenMessages;
+    // Written or lost by a failed write, flush waits for these
+    private volatile long handledMessages;
+    private volatile boolean closed;
+
+    public AsyncLogger(WritableByteChannel channel, LogLevel minimumLevel, OverflowPolicy overflowPolicy) {
+        this(channel, minimumLevel, overflowPolicy, DEFAULT_CAPACITY, DEFAULT_BATCH_BYTES);
+    }
+
+    public AsyncLogger(WritableByteChannel channel, LogLevel minimumLevel, OverflowPolicy overflowPolicy,
+                       int capacity, int batchBytes) {
+        this.ringBuffer = new LogRingBuffer(capacity);
+        this.channel = channel;
+        this.batch = ByteBuffer.allocateDirect(batchBytes);
+        this.overflowPolicy = overflowPolicy;
+        this.minimumLevel = minimumLevel;
+        this.droppedMessages = new LongAdder();
+        this.writtenMessages = 0;
+        this.handledMessages = 0;
+        this.closed = false;
+
+        writer = new Thread(this::writeLoop, "async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static AsyncLogger console() {
+        LogLevel minimumLevel = LogLevel.valueOf(System.getProperty("figures.log.level", "INFO").toUpperCase());
+        OverflowPolicy overflowPolicy =
+            OverflowPolicy.valueOf(System.getProperty("figures.log.overflow", "BLOCK").toUpperCase());
+
+        AsyncLogger logger = new AsyncLogger(Channels.newChannel(new FileOutputStream(FileDescriptor.out)),
+            minimumLevel, overflowPolicy);
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::close, "async-logger-shutdown"));
+
+        return logger;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return minimumLevel.isEnabledFor(level);
+    }
+
+    public void log(LogLevel level, String message) {
+        if (!isEnabled(level) || closed) {
+            return;
+        }
+
+        String line = level.getPrefix() + message + '\n';
+
+        while (!ringBuffer.offer(line)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                droppedMessages.increment();
+                return;
+            }
+
+            LockSupport.unpark(writer);
+            Thread.onSpinWait();
+        }
+
+        LockSupport.unpark(writer);
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    public long getWrittenMessages() {
+        return writtenMessages;
+    }
+
+    // Waits until every message enqueued before the call is written to the channel
+    public void flush() {
+        long target = ringBuffer.published();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+
+        while (handledMessages < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT_NANOS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        while (!closed || ringBuffer.consumed() < ringBuffer.published()) {
+            if (!drainBatch()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean drainBatch() {
+        String message = ringBuffer.poll();
+
+        if (message == null) {
+            return false;
+        }
+
+        long polled = 1;
+        long written = 0;
+        long pending = 0;
+
+        try {
+            while (message != null) {
+                byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+
+                if (bytes.length > batch.remaining()) {
+                    writeBatch();
+                    written += pending;
+                    pending = 0;
+                }
+
+                if (bytes.length > batch.capacity()) {
+                    writeFully(ByteBuffer.wrap(bytes));
+                    written++;
+                } else {
+                    batch.put(bytes);
+                    pending++;
+                }
+
+                message = ringBuffer.poll();
+                if (message != null) {
+                    polled++;
+                }
+            }
+
+            writeBatch();
+            written += pending;
+        } catch (IOException ex) {
+            // Every message taken from the buffer but not written yet is lost with the failed write
+            batch.clear();
+            droppedMessages.add(polled - written);
+        }
+
+        writtenMessages += written;
+        handledMessages += polled;
+        return true;
+    }
+
+    private void writeBatch() throws IOException {
+        batch.flip();
+        writeFully(batch);
+        batch.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
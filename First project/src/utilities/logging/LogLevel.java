@@ -0,0 +1,19 @@
+package utilities.logging;
+
+public enum LogLevel {
+    DEBUG("[DEBUG] "), INFO(""), WARN("[WARN] "), ERROR("[ERROR] ");
+
+    private final String prefix;
+
+    LogLevel(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isEnabledFor(LogLevel level) {
+        return level.ordinal() >= ordinal();
+    }
+}
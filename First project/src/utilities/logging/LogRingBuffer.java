@@ -0,0 +1,78 @@
+package utilities.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded lock-free queue for many producers and the single writer thread.
+// Every slot carries a sequence number which tells whether it is free to write or ready to read.
+class LogRingBuffer {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<String> messages;
+    private final AtomicLong tail;
+    private volatile long head;
+
+    LogRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity should be a positive power of two!");
+        }
+
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        messages = new AtomicReferenceArray<>(capacity);
+        tail = new AtomicLong();
+        head = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(String message) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages.set(index, message);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Must be called only from the writer thread
+    String poll() {
+        long position = head;
+        int index = (int) (position & mask);
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        String message = messages.get(index);
+        messages.set(index, null);
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+
+        return message;
+    }
+
+    long published() {
+        return tail.get();
+    }
+
+    long consumed() {
+        return head;
+    }
+}
@@ -0,0 +1,8 @@
+package utilities.logging;
+
+public enum OverflowPolicy {
+    // The message is discarded and counted when the buffer is full
+    DROP,
+    // The caller waits until the writer thread frees a slot
+    BLOCK
+}
@@ -0,0 +1,13 @@
+package utilities.metrics;
+
+public interface CommandLatencyMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getMaxMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+}
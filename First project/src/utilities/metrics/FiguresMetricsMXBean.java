@@ -0,0 +1,17 @@
+package utilities.metrics;
+
+import java.util.Map;
+
+public interface FiguresMetricsMXBean {
+    long getLinesParsed();
+
+    double getLinesParsedPerSecond();
+
+    Map<String, Long> getParseFailures();
+
+    long getCollectionSize();
+
+    long getEstimatedHeapBytes();
+
+    long getBytesWritten();
+}
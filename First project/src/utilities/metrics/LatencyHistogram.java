@@ -0,0 +1,80 @@
+package utilities.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts latencies in power of two buckets of nanoseconds, so a percentile is exact up to a factor of two
+public class LatencyHistogram implements CommandLatencyMXBean {
+    private static final int BUCKETS_COUNT = Long.SIZE + 1;
+
+    private final LongAdder[] buckets;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKETS_COUNT];
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+        count = new LongAdder();
+        totalNanos = new LongAdder();
+        maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(latency)].increment();
+        count.increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+    }
+
+    // Upper bound of the bucket holding the given share of the latencies
+    public long getPercentileNanos(double percentile) {
+        long total = count.sum();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min(i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1, maxNanos.get());
+            }
+        }
+
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long total = count.sum();
+
+        return total == 0 ? 0 : totalNanos.sum() / 1e3 / total;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return getPercentileNanos(0.5) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return getPercentileNanos(0.99) / 1e3;
+    }
+}
@@ -0,0 +1,155 @@
+package utilities.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static utilities.MyLogger.log;
+
+// Counters are LongAdders, so updating them from the parsing and storing paths stays cheap.
+// The registry is exposed as figures:type=Metrics and every command as figures:type=CommandLatency,name=<command>.
+public class MetricsRegistry implements FiguresMetricsMXBean {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    // Readers closer than this get the rate of the previous interval, so it is not computed over a few lines
+    private static final long MIN_SAMPLE_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final LongAdder linesParsed;
+    private final ConcurrentMap<String, LongAdder> parseFailures;
+    private final LongAdder bytesWritten;
+    private final ConcurrentMap<String, LatencyHistogram> commandLatencies;
+
+    private volatile LongSupplier collectionSize;
+    private volatile LongSupplier estimatedHeapBytes;
+    private volatile MBeanServer server;
+
+    // The lines parsed per second are measured between two reads of the rate
+    private long sampleNanos;
+    private long sampleLines;
+    private double sampleRate;
+
+    public MetricsRegistry() {
+        this(System.nanoTime());
+    }
+
+    MetricsRegistry(long startNanos) {
+        sampleNanos = startNanos;
+        linesParsed = new LongAdder();
+        parseFailures = new ConcurrentHashMap<>();
+        bytesWritten = new LongAdder();
+        commandLatencies = new ConcurrentHashMap<>();
+        collectionSize = () -> 0;
+        estimatedHeapBytes = () -> 0;
+    }
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public void lineParsed() {
+        linesParsed.increment();
+    }
+
+    public void parseFailed(Exception ex) {
+        parseFailures.computeIfAbsent(ex.getClass().getSimpleName(), type -> new LongAdder()).increment();
+    }
+
+    public void bytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    public LatencyHistogram commandLatency(String command) {
+        LatencyHistogram histogram = commandLatencies.get(command);
+
+        if (histogram == null) {
+            histogram = commandLatencies.computeIfAbsent(command, name -> new LatencyHistogram());
+            registerCommand(command, histogram);
+        }
+
+        return histogram;
+    }
+
+    public void recordCommand(String command, long nanos) {
+        commandLatency(command).record(nanos);
+    }
+
+    public void watchCollection(LongSupplier size, LongSupplier heapBytes) {
+        collectionSize = size;
+        estimatedHeapBytes = heapBytes;
+    }
+
+    public void registerMBeans() {
+        server = ManagementFactory.getPlatformMBeanServer();
+
+        register(this, "figures:type=Metrics");
+        commandLatencies.forEach(this::registerCommand);
+    }
+
+    private void registerCommand(String command, LatencyHistogram histogram) {
+        if (server != null) {
+            register(histogram, "figures:type=CommandLatency,name=" + ObjectName.quote(command));
+        }
+    }
+
+    private void register(Object bean, String name) {
+        try {
+            server.registerMBean(bean, new ObjectName(name));
+        } catch (InstanceAlreadyExistsException ex) {
+            // Registered by an earlier run in the same JVM
+        } catch (JMException ex) {
+            log("Could not register " + name + ": " + ex.getMessage() + "\n");
+        }
+    }
+
+    @Override
+    public long getLinesParsed() {
+        return linesParsed.sum();
+    }
+
+    @Override
+    public double getLinesParsedPerSecond() {
+        return getLinesParsedPerSecond(System.nanoTime());
+    }
+
+    synchronized double getLinesParsedPerSecond(long nowNanos) {
+        if (nowNanos - sampleNanos >= MIN_SAMPLE_INTERVAL_NANOS) {
+            long lines = linesParsed.sum();
+
+            sampleRate = (lines - sampleLines) / ((nowNanos - sampleNanos) / 1e9);
+            sampleNanos = nowNanos;
+            sampleLines = lines;
+        }
+
+        return sampleRate;
+    }
+
+    @Override
+    public Map<String, Long> getParseFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        parseFailures.forEach((type, counter) -> failures.put(type, counter.sum()));
+
+        return failures;
+    }
+
+    @Override
+    public long getCollectionSize() {
+        return collectionSize.getAsLong();
+    }
+
+    @Override
+    public long getEstimatedHeapBytes() {
+        return estimatedHeapBytes.getAsLong();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+}
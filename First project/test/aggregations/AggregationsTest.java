@@ -0,0 +1,64 @@
+package aggregations;
+
+import collections.FigureCollection;
+import factories.methods.FigureFactoryAPI;
+import factories.methods.StreamFigureFactory;
+import figures.FigureType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AggregationsTest {
+
+    private final String input = """
+        triangle 1 2.01 3
+        triangle 2 3.4 4
+        rectangle 8 9
+        circle 5.5 (3, 8.4)
+        """;
+
+    private FigureFactoryAPI source() {
+        return new StreamFigureFactory(new ByteArrayInputStream(input.getBytes()));
+    }
+
+    @Test
+    void testIfStreamSourceIsAggregatedInOnePass() {
+        TypeCounts counts = Aggregations.aggregate(source(), new TypeCounts());
+
+        assertEquals(2, counts.getCount(FigureType.TRIANGLE), "Triangles should be counted!");
+        assertEquals(1, counts.getCount(FigureType.RECTANGLE), "Rectangles should be counted!");
+        assertEquals(1, counts.getCount(FigureType.CIRCLE), "Circles should be counted!");
+    }
+
+    @Test
+    void testIfParallelPartialsAreMerged() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            TypeCounts counts = Aggregations.aggregate(List.of(source(), source(), source()), TypeCounts::new,
+                executor);
+
+            assertEquals(12, counts.getTotal(), "Partial aggregates of all sources should be merged!");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testIfCollectionIsAggregatedInParallel() {
+        FigureCollection collection = new FigureCollection();
+        for (int i = 0; i < 1000; i++) {
+            collection.addRange(source().getFigures());
+        }
+
+        TypeCounts counts = Aggregations.aggregate(collection, TypeCounts::new);
+
+        assertEquals(2000, counts.getCount(FigureType.TRIANGLE), "Triangles of all splits should be counted!");
+        assertEquals(4000, counts.getTotal(), "Partial aggregates of all splits should be merged!");
+    }
+}
@@ -0,0 +1,40 @@
+package aggregations;
+
+import figures.Circle;
+import figures.Point;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DistinctFiguresEstimatorTest {
+
+    @Test
+    void testIfDuplicatesAreNotCounted() {
+        DistinctFiguresEstimator estimator = new DistinctFiguresEstimator();
+
+        for (int repeat = 0; repeat < 5; repeat++) {
+            for (int i = 1; i <= 1000; i++) {
+                estimator.accept(new Circle(i, new Point(0, 0)));
+            }
+        }
+
+        assertEquals(1000, estimator.getEstimate(), 1000 * 0.05,
+            "Estimate should count each distinct figure once!");
+    }
+
+    @Test
+    void testIfMergedEstimatorsCountTheUnion() {
+        DistinctFiguresEstimator first = new DistinctFiguresEstimator();
+        DistinctFiguresEstimator second = new DistinctFiguresEstimator();
+
+        for (int i = 1; i <= 100_000; i++) {
+            first.accept(new Circle(i, new Point(1, 2)));
+            second.accept(new Circle(i + 50_000, new Point(1, 2)));
+        }
+
+        first.merge(second);
+
+        assertEquals(150_000, first.getEstimate(), 150_000 * 0.05,
+            "Merged estimate should count the union of both partials!");
+    }
+}
@@ -0,0 +1,44 @@
+package aggregations;
+
+import figures.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PerimeterQuantilesTest {
+
+    // Rectangle i x 1 has perimeter 2 * (i + 1), so the rank of the perimeter is known
+    private PerimeterQuantiles sketchOf(int from, int to) {
+        PerimeterQuantiles quantiles = new PerimeterQuantiles();
+
+        for (int i = from; i <= to; i++) {
+            quantiles.accept(new Rectangle(i, 1));
+        }
+
+        return quantiles;
+    }
+
+    @Test
+    void testIfQuantilesAreWithinRankError() {
+        int count = 100_000;
+        PerimeterQuantiles quantiles = sketchOf(1, count);
+
+        assertEquals(count, quantiles.getCount(), "All perimeters should be counted!");
+        assertEquals(2 * (count / 2.0 + 1), quantiles.getQuantile(0.5), 2 * count * 0.02,
+            "Median should be within the rank error of the sketch!");
+        assertEquals(2 * (count * 0.9 + 1), quantiles.getQuantile(0.9), 2 * count * 0.02,
+            "90th percentile should be within the rank error of the sketch!");
+    }
+
+    @Test
+    void testIfMergedSketchesKeepTheQuantiles() {
+        PerimeterQuantiles first = sketchOf(1, 50_000);
+        PerimeterQuantiles second = sketchOf(50_001, 100_000);
+
+        first.merge(second);
+
+        assertEquals(100_000, first.getCount(), "Merged sketch should count both partials!");
+        assertEquals(2 * (50_000 + 1), first.getQuantile(0.5), 2 * 100_000 * 0.02,
+            "Median of merged sketches should be within the rank error!");
+    }
+}
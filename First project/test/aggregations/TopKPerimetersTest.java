@@ -0,0 +1,42 @@
+package aggregations;
+
+import figures.Figure;
+import figures.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TopKPerimetersTest {
+
+    @Test
+    void testIfLargestPerimetersAreKept() {
+        TopKPerimeters topK = new TopKPerimeters(3);
+
+        for (int i = 1; i <= 100; i++) {
+            topK.accept(new Rectangle(i, 1));
+        }
+
+        List<Figure> figures = topK.getFigures();
+
+        assertEquals(List.of(new Rectangle(100, 1), new Rectangle(99, 1), new Rectangle(98, 1)), figures,
+            "Only the figures with the largest perimeters should be kept from the largest!");
+    }
+
+    @Test
+    void testIfMergedPartialsKeepTheGlobalTopK() {
+        TopKPerimeters first = new TopKPerimeters(2);
+        TopKPerimeters second = new TopKPerimeters(2);
+
+        first.accept(new Rectangle(1, 1));
+        first.accept(new Rectangle(50, 1));
+        second.accept(new Rectangle(70, 1));
+        second.accept(new Rectangle(2, 1));
+
+        first.merge(second);
+
+        assertEquals(List.of(new Rectangle(70, 1), new Rectangle(50, 1)), first.getFigures(),
+            "Merged aggregate should keep the largest perimeters of both partials!");
+    }
+}
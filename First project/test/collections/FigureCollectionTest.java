@@ -1,10 +1,13 @@
 package collections;
 
+import factories.methods.FileFigureFactory;
 import figures.Circle;
 import figures.Figure;
+import figures.FigureType;
 import figures.Point;
 import figures.Rectangle;
 import figures.Triangle;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -12,8 +15,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,6 +30,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 public class FigureCollectionTest {
 
     private String testFilePath = "./resources/output/testStoring.txt";
+
+    private String checkpointFileName = "testCheckpoint.txt";
+
+    private Path checkpointFile = Path.of("./resources/output/" + checkpointFileName);
     FigureCollection figureCollection;
 
     Triangle triangle;
@@ -38,6 +49,27 @@ public class FigureCollectionTest {
         circle = new Circle(1, new Point(2, 3));
     }
 
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(checkpointFile);
+    }
+
+    private List<Figure> readCheckpoint() throws IOException {
+        try (FileInputStream fis = new FileInputStream(checkpointFile.toFile())) {
+            return FileFigureFactory.forCheckpoint(fis).getFigures();
+        }
+    }
+
+    private List<Figure> figuresOf(FigureCollection collection) {
+        List<Figure> figures = new ArrayList<>();
+
+        for (int i = 0; i < collection.size(); i++) {
+            figures.add(collection.get(i));
+        }
+
+        return figures;
+    }
+
     @Test
     void testIfFigureIsAddedSuccessfully() {
         figureCollection = new FigureCollection();
@@ -258,4 +290,118 @@ public class FigureCollectionTest {
         assertFalse(figureCollection.contains(circle),
             "Not added figures should not be contained in collection!");
     }
+
+    @Test
+    void testIfIncrementalStoreAppendsOnlyChanges() throws IOException {
+        figureCollection = new FigureCollection();
+
+        figureCollection.add(triangle);
+        figureCollection.add(rectangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        figureCollection.add(circle);
+        figureCollection.delete(triangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        List<String> lines = Files.readAllLines(checkpointFile);
+
+        assertEquals(List.of(triangle.toString(), rectangle.toString(), circle.toString(),
+                FigureCollection.TOMBSTONE_PREFIX + triangle),
+            lines,
+            "Incremental store should append only added figures and tombstones for deleted ones!");
+
+        assertEquals(figuresOf(figureCollection), readCheckpoint(),
+            "Reading the checkpoint should give the current collection!");
+    }
+
+    @Test
+    void testIfIncrementalStoreKeepsOrderOfEqualFigures() throws IOException, CloneNotSupportedException {
+        figureCollection = new FigureCollection();
+
+        figureCollection.add(triangle);
+        figureCollection.add(rectangle);
+        figureCollection.add(circle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        figureCollection.duplicate(triangle);
+        figureCollection.delete(triangle);
+        figureCollection.delete(rectangle);
+        figureCollection.add(rectangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        assertEquals(figuresOf(figureCollection), readCheckpoint(),
+            "Reading the checkpoint should give the current collection in the same order!");
+    }
+
+    @Test
+    void testIfIncrementalStoreRewritesWhenTombstonesOutnumberFigures() throws IOException {
+        figureCollection = new FigureCollection();
+
+        figureCollection.add(triangle);
+        figureCollection.add(rectangle);
+        figureCollection.add(circle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        figureCollection.delete(triangle);
+        figureCollection.delete(rectangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        assertEquals(List.of(circle.toString()), Files.readAllLines(checkpointFile),
+            "Checkpoint should be rewritten when it holds more tombstones than figures!");
+    }
+
+    @Test
+    void testIfIncrementalStoreRewritesMissingFile() throws IOException {
+        figureCollection = new FigureCollection();
+
+        figureCollection.add(triangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        Files.delete(checkpointFile);
+
+        figureCollection.add(rectangle);
+        figureCollection.storeIncrementally(checkpointFileName);
+
+        assertEquals(List.of(triangle.toString(), rectangle.toString()), Files.readAllLines(checkpointFile),
+            "Missing checkpoint should be rewritten with the whole collection!");
+    }
+
+    @Test
+    void testIfFiguresAreSortedByTypeThenPerimeter() {
+        figureCollection = new FigureCollection();
+
+        Rectangle smallRectangle = new Rectangle(1, 1);
+        Triangle bigTriangle = new Triangle(3, 4, 5);
+
+        figureCollection.add(circle);
+        figureCollection.add(bigTriangle);
+        figureCollection.add(rectangle);
+        figureCollection.add(triangle);
+        figureCollection.add(smallRectangle);
+
+        figureCollection.sortByTypeThenPerimeter();
+
+        assertEquals(List.of(triangle, bigTriangle, smallRectangle, rectangle, circle), figuresOf(figureCollection),
+            "Figures should be ordered by type and then by perimeter!");
+
+        figureCollection.sortByPerimeter();
+
+        assertEquals(List.of(smallRectangle, triangle, rectangle, circle, bigTriangle), figuresOf(figureCollection),
+            "Figures should be ordered by perimeter!");
+    }
+
+    @Test
+    void testIfFiguresAreGroupedByType() {
+        figureCollection = new FigureCollection();
+
+        figureCollection.add(circle);
+        figureCollection.add(triangle);
+        figureCollection.add(circle);
+
+        Map<FigureType, List<Figure>> groups = figureCollection.groupByType();
+
+        assertEquals(List.of(triangle), groups.get(FigureType.TRIANGLE), "Triangles should be grouped together!");
+        assertEquals(List.of(), groups.get(FigureType.RECTANGLE), "Missing types should have empty groups!");
+        assertEquals(List.of(circle, circle), groups.get(FigureType.CIRCLE), "Circles should be grouped together!");
+    }
 }
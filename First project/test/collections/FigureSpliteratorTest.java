@@ -0,0 +1,82 @@
+package collections;
+
+import collections.offheap.OffHeapFigureCollection;
+import collections.persistent.UndoableFigureCollection;
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FigureSpliteratorTest {
+
+    private static List<Figure> rectangles(int count) {
+        List<Figure> figures = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            figures.add(new Rectangle(i, 1));
+        }
+
+        return figures;
+    }
+
+    @Test
+    void testIfSplitsAreEvenAndSized() {
+        Spliterator<Figure> suffix = FigureSpliterator.of(rectangles(101));
+        Spliterator<Figure> prefix = suffix.trySplit();
+
+        assertEquals(50, prefix.estimateSize(), "Prefix should get half of the figures!");
+        assertEquals(51, suffix.estimateSize(), "Suffix should get the rest of the figures!");
+        assertTrue(prefix.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.IMMUTABLE),
+            "Snapshot splits should be sized and immutable!");
+
+        Spliterator<Figure> single = FigureSpliterator.of(rectangles(1));
+
+        assertNull(single.trySplit(), "Single figure should not be split!");
+    }
+
+    @Test
+    void testIfParallelStreamKeepsOrder() {
+        FigureCollection collection = new FigureCollection();
+        collection.addRange(rectangles(10000));
+
+        List<Figure> streamed = collection.parallelStream().collect(Collectors.toList());
+        double perimeter = collection.parallelStream().mapToDouble(Figure::getPerimeter).sum();
+
+        assertEquals(collection.snapshot(), streamed, "Parallel stream should keep the order of figures!");
+        assertEquals(10000 * 10001 + 2 * 10000, perimeter, 1e-6, "Perimeters should be summed!");
+    }
+
+    @Test
+    void testIfStreamIsNotChangedByCollection() {
+        UndoableFigureCollection collection = new UndoableFigureCollection();
+        collection.addRange(rectangles(3));
+
+        Spliterator<Figure> figures = collection.spliterator();
+        collection.add(new Circle(1, new Point(0, 0)));
+
+        assertEquals(3, figures.estimateSize(), "Stream should traverse the snapshot!");
+    }
+
+    @Test
+    void testIfOffHeapRecordsAreStreamed() throws Exception {
+        try (OffHeapFigureCollection collection = new OffHeapFigureCollection(16)) {
+            collection.addRange(rectangles(1000));
+
+            Spliterator<Figure> figures = collection.spliterator();
+
+            assertFalse(figures.hasCharacteristics(Spliterator.IMMUTABLE), "Records are not a snapshot!");
+            assertEquals(750, collection.parallelStream().filter(figure -> figure.getPerimeter() > 502).count(),
+                "Records should be filtered in parallel!");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package collections.async;
+
+import collections.FigureCollection;
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncFigureStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private boolean hasTemporaryFile() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.anyMatch(file -> file.toString().endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    void testIfSnapshotIsStoredWhileCollectionChanges() throws IOException, InterruptedException {
+        FigureCollection collection = new FigureCollection();
+        for (int i = 1; i <= 10_000; i++) {
+            collection.add(new Rectangle(i, 1));
+        }
+
+        List<Figure> snapshot = collection.snapshot();
+        String expected = collection.toString();
+        Path path = tempDir.resolve("snapshot.txt");
+        AtomicReference<StoreStatus> notified = new AtomicReference<>();
+
+        StoreHandle handle = AsyncFigureStore.store(snapshot, path, false);
+        handle.onCompletion(done -> notified.set(done.getStatus()));
+
+        collection.add(new Circle(1, new Point(0, 0)));
+        collection.delete(new Rectangle(1, 1));
+
+        assertEquals(10_000, snapshot.size(), "Snapshot should not see later changes!");
+        assertEquals(expected.length(), handle.await(),
+            "Store should write the whole snapshot!");
+        assertEquals(StoreStatus.COMPLETED, handle.getStatus(), "Store should be completed!");
+        assertEquals(StoreStatus.COMPLETED, notified.get(), "Completion should be notified!");
+        assertEquals(expected, Files.readString(path), "File should hold the snapshot!");
+    }
+
+    @Test
+    void testIfStoreIsAppended() throws IOException, InterruptedException {
+        Path path = tempDir.resolve("appended.txt");
+        Files.writeString(path, "Rectangle 1 2\n");
+
+        AsyncFigureStore.store(List.of(new Triangle(3, 4, 5)), path, true).await();
+
+        assertEquals("Rectangle 1 2\n" + new Triangle(3, 4, 5) + "\n", Files.readString(path),
+            "Figures should be appended after the existing content!");
+    }
+
+    @Test
+    void testIfCancelledStoreLeavesTargetUntouched() throws IOException, InterruptedException {
+        Path path = tempDir.resolve("cancelled.txt");
+        Files.writeString(path, "previous\n");
+        CountDownLatch release = new CountDownLatch(1);
+
+        Figure large = new Triangle(1, 1, 1) {
+            @Override
+            public String toString() {
+                return "x".repeat(1 << 17);
+            }
+        };
+        Figure blocking = new Triangle(2, 2, 2) {
+            @Override
+            public String toString() {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.toString();
+            }
+        };
+
+        StoreHandle handle = AsyncFigureStore.store(List.of(large, blocking, large), path, false);
+
+        assertTrue(handle.cancel(), "Running store should be cancelled!");
+        release.countDown();
+
+        assertThrows(IOException.class, handle::await, "Waiting for a cancelled store should throw!");
+        assertEquals(StoreStatus.CANCELLED, handle.getStatus(), "Store should be cancelled!");
+        assertThrows(IOException.class, () -> handle.await(1, TimeUnit.SECONDS),
+            "Waiting for a cancelled store with a timeout should throw!");
+
+        assertFalse(hasTemporaryFile(), "Temporary file should be removed once the store is cancelled!");
+        assertEquals("previous\n", Files.readString(path), "Cancelled store should not replace the file!");
+    }
+}
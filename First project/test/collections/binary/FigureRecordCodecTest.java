@@ -0,0 +1,93 @@
+package collections.binary;
+
+import exceptions.ValueOutOfPrecisionRange;
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FigureRecordCodecTest {
+
+    private Figure roundTrip(FigureRecordCodec codec, Figure figure) {
+        ByteBuffer buffer = codec.encode(figure);
+
+        return codec.read(buffer, 0);
+    }
+
+    @Test
+    void testIfDoublePrecisionIsExact() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.DOUBLE);
+        Triangle triangle = new Triangle(3333.3, 2.01, 1.000001);
+
+        assertEquals(triangle, roundTrip(codec, triangle),
+            "Figures stored with double precision should be read back equal!");
+    }
+
+    @Test
+    void testIfCompactPrecisionHalvesTheRecordSize() {
+        int doubleRecordSize = new FigureRecordCodec(Precision.DOUBLE).getRecordSize();
+
+        assertEquals(doubleRecordSize / 2, new FigureRecordCodec(Precision.FLOAT).getRecordSize(),
+            "Float records should be half of the double records!");
+        assertEquals(doubleRecordSize / 2, new FigureRecordCodec(Precision.FIXED_POINT).getRecordSize(),
+            "Fixed point records should be half of the double records!");
+    }
+
+    @Test
+    void testIfFixedPointKeepsPrintedOutputAndPerimeter() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.FIXED_POINT);
+        Circle circle = new Circle(5.123456, new Point(3.00001, 8.4));
+        Figure stored = roundTrip(codec, circle);
+
+        assertEquals(circle.toString(), stored.toString(),
+            "Fixed point figures should print the same as the original!");
+        assertEquals(circle.getPerimeter(), stored.getPerimeter(), 2 * Math.PI * 0.00005,
+            "Fixed point perimeter should be within the error bound!");
+    }
+
+    @Test
+    void testIfFloatPerimeterIsWithinErrorBound() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.FLOAT);
+        Rectangle rectangle = new Rectangle(9999.123456, 0.1);
+        Figure stored = roundTrip(codec, rectangle);
+        double errorBound = 2 * (Precision.FLOAT.getErrorBound(9999.123456) + Precision.FLOAT.getErrorBound(0.1));
+
+        assertTrue(Math.abs(rectangle.getPerimeter() - stored.getPerimeter()) <= errorBound,
+            "Float perimeter should be within the error bound!");
+    }
+
+    @Test
+    void testIfQuantizedFiguresMatchTheirRecord() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.FIXED_POINT);
+        ByteBuffer buffer = codec.encode(new Triangle(1.00001, 2, 3));
+
+        assertTrue(codec.matches(buffer, 0, codec.encode(new Triangle(1.000012, 2, 3))),
+            "Figures equal after quantization should match the same record!");
+    }
+
+    @Test
+    void testIfValuesOutOfRangeThrow() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.FIXED_POINT);
+
+        assertThrows(ValueOutOfPrecisionRange.class, () -> codec.encode(new Rectangle(1e10, 1)),
+            "Values over the fixed point range should throw!");
+        assertThrows(ValueOutOfPrecisionRange.class, () -> codec.encode(new Circle(0.00001, new Point(0, 0))),
+            "Radius which rounds to zero should throw!");
+    }
+
+    @Test
+    void testIfValuesOverFloatRangeThrow() {
+        FigureRecordCodec codec = new FigureRecordCodec(Precision.FLOAT);
+
+        assertThrows(ValueOutOfPrecisionRange.class, () -> codec.encode(new Rectangle(1e39, 1)),
+            "Values over the float range should throw!");
+    }
+}
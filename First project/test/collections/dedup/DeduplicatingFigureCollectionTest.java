@@ -0,0 +1,69 @@
+package collections.dedup;
+
+import collections.FigureCollection;
+import collections.offheap.OffHeapFigureCollection;
+import figures.Circle;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeduplicatingFigureCollectionTest {
+
+    @Test
+    void testIfNearFiguresAreNotInserted() throws CloneNotSupportedException {
+        DeduplicatingFigureCollection collection = new DeduplicatingFigureCollection(new FigureCollection(), 0.01);
+        Triangle triangle = new Triangle(3, 4, 5);
+
+        collection.add(triangle);
+        collection.add(new Triangle(3.001, 4, 5));
+        collection.duplicate(triangle);
+        collection.add(new Circle(1, new Point(0, 0)));
+
+        assertEquals(2, collection.size(), "Near figures should not be inserted!");
+
+        collection.delete(triangle);
+
+        assertFalse(collection.containsNear(triangle), "Deleted figure should not block inserts anymore!");
+
+        collection.add(new Triangle(3.001, 4, 5));
+
+        assertEquals(2, collection.size(), "Figure should be inserted after its near figure is deleted!");
+    }
+
+    @Test
+    void testIfWrappedCollectionIsDeduplicated() {
+        FigureCollection figures = new FigureCollection();
+        Rectangle rectangle = new Rectangle(1, 2);
+
+        figures.add(rectangle);
+        figures.add(new Rectangle(2.0001, 1));
+        figures.add(new Rectangle(3, 4));
+
+        DeduplicatingFigureCollection collection = new DeduplicatingFigureCollection(figures, 0.001);
+
+        assertEquals(2, collection.size(), "Existing near figures should be removed!");
+        assertEquals(rectangle, collection.get(0), "The first of the near figures should be kept!");
+        assertEquals(1, collection.deduplicate(10), "Wider epsilon should remove more figures!");
+    }
+
+    @Test
+    void testIfOffHeapRecordsAreCompacted() {
+        OffHeapFigureCollection collection = new OffHeapFigureCollection(2);
+
+        for (int i = 0; i < 10; i++) {
+            collection.add(new Rectangle(i % 4 + 1, 1 + i * 1e-9));
+        }
+
+        assertEquals(6, collection.deduplicate(1e-6), "Near records should be removed!");
+        assertEquals(4, collection.size(), "Distinct records should be kept!");
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Math.abs(collection.get(i).getPerimeter() - 2 * (i + 2)) < 1e-6,
+                "Distinct records should keep their order!");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package collections.dedup;
+
+import figures.Circle;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ToleranceIndexTest {
+
+    @Test
+    void testIfFiguresWithinEpsilonAreNear() {
+        ToleranceIndex index = new ToleranceIndex(0.001);
+
+        assertTrue(index.addIfAbsent(new Triangle(3, 4, 5)), "First figure should be added!");
+        assertFalse(index.addIfAbsent(new Triangle(4.0004, 2.9999, 5.0009)),
+            "Figure with sides within epsilon should be a duplicate!");
+        assertTrue(index.addIfAbsent(new Triangle(3, 4, 5.002)),
+            "Figure with a side over epsilon should not be a duplicate!");
+        assertTrue(index.addIfAbsent(new Rectangle(3, 4)), "Figures of other types should not be duplicates!");
+
+        assertEquals(3, index.size(), "Only distinct figures should be indexed!");
+    }
+
+    @Test
+    void testIfNeighbourCellsAreChecked() {
+        ToleranceIndex index = new ToleranceIndex(0.01);
+
+        index.addIfAbsent(new Circle(1.0099, new Point(-0.0001, 2)));
+
+        assertTrue(index.containsNear(new Circle(1.0101, new Point(0.0001, 1.9999))),
+            "Near figures across cell borders should be found!");
+    }
+
+    @Test
+    void testIfHugeValuesForEpsilonAreIndexed() {
+        ToleranceIndex index = new ToleranceIndex(1e-300);
+
+        assertTrue(index.addIfAbsent(new Rectangle(1e10, 1e12)), "First figure should be added!");
+        assertFalse(index.addIfAbsent(new Rectangle(1e10, 1e12)), "Same figure should be a duplicate!");
+        assertTrue(index.addIfAbsent(new Rectangle(2e10, 1e12)), "Different figure should not be a duplicate!");
+    }
+
+    @Test
+    void testIfRemovedFigureIsNotNearAnymore() {
+        ToleranceIndex index = new ToleranceIndex(0.1);
+        Rectangle rectangle = new Rectangle(1, 2);
+
+        index.addIfAbsent(rectangle);
+        index.addIfAbsent(new Rectangle(5, 6));
+
+        assertTrue(index.remove(rectangle), "Indexed figure should be removed!");
+        assertFalse(index.containsNear(new Rectangle(1.05, 2)), "Removed figure should not be found!");
+        assertTrue(index.containsNear(new Rectangle(5, 6.05)), "Other figures should still be found!");
+    }
+
+    @Test
+    void testIfManyNoisyCopiesAreDeduplicated() {
+        ToleranceIndex index = new ToleranceIndex(1e-6);
+        Random random = new Random(5);
+        int added = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            int base = i % 10_000 + 1;
+            double noise = (random.nextDouble() - 0.5) * 1e-7;
+
+            if (index.addIfAbsent(new Rectangle(base + noise, base * 2 + noise))) {
+                added++;
+            }
+        }
+
+        assertEquals(10_000, added, "Noisy copies should be deduplicated to their originals!");
+    }
+
+    @Test
+    void testIfNonPositiveEpsilonThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ToleranceIndex(0),
+            "Epsilon should be positive!");
+    }
+}
@@ -0,0 +1,156 @@
+package collections.offheap;
+
+import collections.FigureCollection;
+import collections.binary.Precision;
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapFigureCollectionTest {
+
+    @TempDir
+    Path tempDir;
+
+    Triangle triangle;
+
+    Rectangle rectangle;
+
+    Circle circle;
+
+    @BeforeEach
+    void setUp() {
+        triangle = new Triangle(1.1, 2.2, 3.3);
+        rectangle = new Rectangle(1, 2);
+        circle = new Circle(1, new Point(2, 3));
+    }
+
+    @Test
+    void testIfFiguresAreReadBackEqual() {
+        OffHeapFigureCollection collection = new OffHeapFigureCollection();
+
+        collection.add(triangle);
+        collection.add(rectangle);
+        collection.add(circle);
+
+        assertEquals(3, collection.size(), "Size should be equal to added figures!");
+        assertEquals(triangle, collection.get(0), "Added figure should be at the added position!");
+        assertEquals(rectangle, collection.get(1), "Added figure should be at the added position!");
+        assertEquals(circle, collection.get(2), "Added figure should be at the added position!");
+    }
+
+    @Test
+    void testIfCollectionGrowsByChunks() {
+        OffHeapFigureCollection collection = new OffHeapFigureCollection(2);
+
+        for (int i = 1; i <= 5; i++) {
+            collection.add(new Rectangle(i, i + 1));
+        }
+
+        assertEquals(5, collection.size(), "Size should be equal to added figures!");
+        assertEquals(new Rectangle(5, 6), collection.get(4), "Figures in later chunks should be readable!");
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(5),
+            "Getting a figure after the last one should throw!");
+    }
+
+    @Test
+    void testIfFigureIsDeletedAndOrderIsKept() {
+        OffHeapFigureCollection collection = new OffHeapFigureCollection(2);
+
+        collection.add(triangle);
+        collection.add(rectangle);
+        collection.add(circle);
+        collection.delete(triangle);
+
+        assertFalse(collection.contains(triangle), "Removed figure should not be in the collection anymore!");
+        assertEquals(2, collection.size(), "Figure collection size should be updated after deletion!");
+        assertEquals(rectangle, collection.get(0), "Remaining figures should keep their order!");
+        assertEquals(circle, collection.get(1), "Remaining figures should keep their order!");
+    }
+
+    @Test
+    void testIfFileBackedStoreIsReopenedWithoutParsing() throws IOException {
+        Path storePath = tempDir.resolve("figures.store");
+
+        try (OffHeapFigureCollection collection = OffHeapFigureCollection.open(storePath, Precision.DOUBLE, 2)) {
+            collection.add(triangle);
+            collection.add(rectangle);
+            collection.add(circle);
+        }
+
+        try (OffHeapFigureCollection reopened = OffHeapFigureCollection.open(storePath, Precision.DOUBLE, 2)) {
+            assertTrue(reopened.isFileBacked(), "Opened store should be file backed!");
+            assertEquals(3, reopened.size(), "Reopened store should keep all figures!");
+            assertEquals(circle, reopened.get(2), "Reopened store should return the same figures!");
+        }
+    }
+
+    @Test
+    void testIfReopenedStoreKeepsItsPrecision() throws IOException {
+        Path storePath = tempDir.resolve("compact.store");
+
+        try (OffHeapFigureCollection collection = OffHeapFigureCollection.open(storePath, Precision.FIXED_POINT)) {
+            collection.add(new Circle(5.123456, new Point(3, 8.4)));
+        }
+
+        try (OffHeapFigureCollection reopened = OffHeapFigureCollection.open(storePath)) {
+            assertEquals(Precision.FIXED_POINT, reopened.getPrecision(),
+                "Reopened store should keep the precision it was created with!");
+            assertEquals("Circle 5.1235 (3, 8.4)", reopened.get(0).toString(),
+                "Reopened compact store should return the quantized figure!");
+        }
+    }
+
+    private void assertSameOrder(FigureCollection expected, OffHeapFigureCollection actual, String message) {
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), message);
+        }
+    }
+
+    @Test
+    void testIfRecordsAreSortedInPlace() {
+        OffHeapFigureCollection collection = new OffHeapFigureCollection(16);
+        FigureCollection expected = new FigureCollection();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 1000; i++) {
+            double value = random.nextInt(50) + 1;
+            Figure figure = switch (i % 3) {
+                case 0 -> new Triangle(value + 2, value + 3, value + 4);
+                case 1 -> new Rectangle(value, random.nextInt(50) + 1);
+                default -> new Circle(value, new Point(i, -i));
+            };
+
+            collection.add(figure);
+            expected.add(figure);
+        }
+
+        collection.sortByTypeThenPerimeter();
+        expected.sortByTypeThenPerimeter();
+        assertSameOrder(expected, collection, "Records should be ordered by type and then by perimeter!");
+
+        collection.sortByPerimeter();
+        expected.sortByPerimeter();
+        assertSameOrder(expected, collection, "Records should be ordered by perimeter!");
+
+        Comparator<Figure> byText = Comparator.comparing(Figure::toString);
+        collection.sort(byText);
+        expected.sort(byText);
+        assertSameOrder(expected, collection, "Records should be ordered by the given comparator!");
+    }
+}
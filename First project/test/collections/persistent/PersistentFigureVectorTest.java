@@ -0,0 +1,71 @@
+package collections.persistent;
+
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentFigureVectorTest {
+
+    private static Figure circle(int radius) {
+        return new Circle(radius, new Point(0, 0));
+    }
+
+    @Test
+    void testIfRandomChangesMatchList() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Figure> expected = new ArrayList<>();
+        PersistentFigureVector vector = PersistentFigureVector.empty();
+
+        for (int i = 0; i < 5000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                Figure figure = circle(i + 1);
+                expected.add(index, figure);
+                vector = vector.insert(index, figure);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.remove(index);
+            }
+        }
+
+        assertEquals(expected, vector.asList(), "Vector should hold the same figures as the list!");
+        assertEquals(expected, List.of(vector.toArray()), "Array should hold the same figures as the list!");
+    }
+
+    @Test
+    void testIfOldVersionsDoNotChange() {
+        List<Figure> figures = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            figures.add(circle(i));
+        }
+
+        PersistentFigureVector first = PersistentFigureVector.of(figures);
+        PersistentFigureVector second = first.remove(500).append(circle(2000));
+
+        assertEquals(figures, first.asList(), "Old version should not change!");
+        assertEquals(1000, second.size(), "New version should have its own size!");
+        assertEquals(circle(502), second.get(500), "Figures after removed one should be shifted!");
+        assertEquals(circle(2000), second.get(999), "Appended figure should be the last one!");
+    }
+
+    @Test
+    void testIfRemovingEverythingGivesEmptyVector() {
+        PersistentFigureVector vector = PersistentFigureVector.of(List.of(circle(1), circle(2)));
+
+        vector = vector.remove(0).remove(0);
+
+        assertTrue(vector.isEmpty(), "Vector should be empty!");
+        assertEquals(-1, vector.indexOf(circle(1)), "Removed figure should not be found!");
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentFigureVector.empty().get(0));
+    }
+}
@@ -0,0 +1,72 @@
+package collections.persistent;
+
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UndoableFigureCollectionTest {
+
+    @Test
+    void testIfChangesAreUndoneAndRedone() throws CloneNotSupportedException {
+        UndoableFigureCollection collection = new UndoableFigureCollection();
+        Triangle triangle = new Triangle(3, 4, 5);
+        Rectangle rectangle = new Rectangle(1, 2);
+
+        collection.addRange(List.of(triangle, rectangle));
+        collection.delete(triangle);
+        collection.duplicate(rectangle);
+
+        assertEquals(List.of(rectangle, rectangle), collection.snapshot(), "Changes should be applied!");
+
+        assertTrue(collection.undo(), "Duplicate should be undone!");
+        assertTrue(collection.undo(), "Delete should be undone!");
+        assertEquals(List.of(triangle, rectangle), collection.snapshot(), "Deleted figure should be back!");
+
+        assertTrue(collection.redo(), "Delete should be redone!");
+        assertEquals(List.of(rectangle), collection.snapshot(), "Delete should be applied again!");
+
+        collection.add(triangle);
+
+        assertFalse(collection.redo(), "New change should drop the redo history!");
+    }
+
+    @Test
+    void testIfHistoryIsBounded() {
+        UndoableFigureCollection collection = new UndoableFigureCollection(3);
+
+        for (int i = 1; i <= 10; i++) {
+            collection.add(new Rectangle(i, 1));
+        }
+
+        assertEquals(3, collection.getUndoCount(), "Only the last changes should be kept!");
+
+        while (collection.undo()) {
+            continue;
+        }
+
+        assertEquals(7, collection.size(), "Only the last three changes should be undone!");
+    }
+
+    @Test
+    void testIfSnapshotDoesNotFollowChanges() {
+        UndoableFigureCollection collection = new UndoableFigureCollection();
+        collection.add(new Rectangle(3, 4));
+        collection.add(new Rectangle(1, 2));
+
+        List<?> snapshot = collection.snapshot();
+        collection.sortByPerimeter();
+
+        assertEquals(new Rectangle(3, 4), snapshot.get(0), "Snapshot should keep the old order!");
+        assertEquals(new Rectangle(1, 2), collection.get(0), "Collection should be sorted!");
+
+        collection.undo();
+
+        assertEquals(new Rectangle(3, 4), collection.get(0), "Sort should be undone!");
+    }
+}
@@ -0,0 +1,46 @@
+package collections.sorting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class ParallelIndexSortTest {
+
+    @Test
+    void testIfIndicesAreSortedStablyByKeys() {
+        Random random = new Random(7);
+        double[] keys = new double[100_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000);
+        }
+
+        int[] expected = IntStream.range(0, keys.length).boxed()
+            .sorted(Comparator.comparingDouble(i -> keys[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+        assertArrayEquals(expected, ParallelIndexSort.sortedIndices(keys),
+            "Indices should be ordered by their keys and keep the order of equal keys!");
+    }
+
+    @Test
+    void testIfGroupingKeepsOrderInsideBuckets() {
+        int[] order = {4, 0, 3, 1, 2};
+        int[] buckets = {1, 0, 1, 2, 0};
+
+        assertArrayEquals(new int[] {4, 1, 0, 2, 3}, ParallelIndexSort.groupByBucket(order, buckets, 3),
+            "Indices should be grouped by bucket in their previous order!");
+    }
+
+    @Test
+    void testIfEmptyAndSingleInputsAreSorted() {
+        assertArrayEquals(new int[0], ParallelIndexSort.sortedIndices(new double[0]),
+            "Empty keys should give no indices!");
+        assertArrayEquals(new int[] {0}, ParallelIndexSort.sortedIndices(new double[] {5}),
+            "Single key should give its own index!");
+    }
+}
@@ -0,0 +1,115 @@
+package collections.spatial;
+
+import collections.FigureCollection;
+import figures.Circle;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpatialJoinTest {
+
+    private static List<Circle> randomCircles(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Circle> circles = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            double radius = random.nextInt(20) == 0 ? random.nextDouble(10, 50) : random.nextDouble(0.1, 3);
+            circles.add(new Circle(radius, new Point(random.nextDouble(0, 500), random.nextDouble(0, 500))));
+        }
+
+        return circles;
+    }
+
+    private static Set<String> bruteForce(List<Circle> circles) {
+        Set<String> pairs = new HashSet<>();
+
+        for (int i = 0; i < circles.size(); i++) {
+            for (int j = i + 1; j < circles.size(); j++) {
+                Circle first = circles.get(i);
+                Circle second = circles.get(j);
+                double reach = first.getRadius() + second.getRadius();
+                double dx = first.getCenter().x() - second.getCenter().x();
+                double dy = first.getCenter().y() - second.getCenter().y();
+
+                if (dx * dx + dy * dy < reach * reach) {
+                    pairs.add(i + " " + j);
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    @Test
+    void testIfStripesFindSamePairsAsNestedLoop() {
+        List<Circle> circles = randomCircles(3000, 11);
+        Map<Circle, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < circles.size(); i++) {
+            indices.put(circles.get(i), i);
+        }
+
+        Set<String> expected = bruteForce(circles);
+
+        for (int stripes : new int[] {1, 7, 64}) {
+            Set<String> found = ConcurrentHashMap.newKeySet();
+            AtomicInteger reported = new AtomicInteger();
+
+            SpatialJoin.overlappingCircles(circles, stripes, (first, second) -> {
+                reported.incrementAndGet();
+                found.add(indices.get(first) + " " + indices.get(second));
+            });
+
+            assertEquals(expected, found, "Every overlapping pair should be found with " + stripes + " stripes!");
+            assertEquals(expected.size(), reported.get(), "Every pair should be reported once!");
+        }
+    }
+
+    @Test
+    void testIfTouchingCirclesDoNotOverlap() {
+        FigureCollection collection = new FigureCollection();
+        collection.add(new Circle(1, new Point(0, 0)));
+        collection.add(new Circle(1, new Point(2, 0)));
+        collection.add(new Circle(1, new Point(0, 1.5)));
+        collection.add(new Triangle(3, 4, 5));
+
+        AtomicInteger pairs = new AtomicInteger();
+        SpatialJoin.overlappingCircles(collection, (first, second) -> pairs.incrementAndGet());
+
+        assertEquals(1, pairs.get(), "Only circles sharing some area should overlap!");
+    }
+
+    @Test
+    void testIfFittingCirclesAreJoined() {
+        FigureCollection collection = new FigureCollection();
+        collection.add(new Circle(1, new Point(0, 0)));
+        collection.add(new Circle(3, new Point(0, 0)));
+        collection.add(new Circle(2, new Point(5, 5)));
+        collection.add(new Rectangle(4, 10));
+        collection.add(new Rectangle(1, 1));
+
+        List<Circle> fitting = new ArrayList<>();
+        SpatialJoin.fittingCircles(collection, new Rectangle(4, 10), fitting::add);
+
+        assertEquals(2, fitting.size(), "Circles with diameter up to the shorter side should fit!");
+
+        Set<String> pairs = ConcurrentHashMap.newKeySet();
+        SpatialJoin.fittingCircles(collection, (rectangle, circle) -> pairs.add(rectangle + " " + circle));
+
+        assertEquals(2, pairs.size(), "Only the bigger rectangle should hold circles!");
+        assertTrue(pairs.stream().allMatch(pair -> pair.startsWith("Rectangle 10 4")), "Pairs should be joined!");
+    }
+}
@@ -0,0 +1,183 @@
+package collections.spill;
+
+import figures.Circle;
+import figures.Figure;
+import figures.FigureType;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpillingFigureCollectionTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    SpillingFigureCollection collection;
+
+    @BeforeEach
+    void setUp() {
+        // Budget for a single resident segment of 4 figures
+        collection = new SpillingFigureCollection(4 * SpillingFigureCollection.ESTIMATED_FIGURE_BYTES, 4,
+            spillDirectory);
+
+        for (int i = 1; i <= 20; i++) {
+            collection.add(new Rectangle(i, 1));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        collection.close();
+    }
+
+    @Test
+    void testIfSegmentsOverTheBudgetAreSpilled() {
+        assertEquals(20, collection.size(), "Size should be equal to added figures!");
+        assertEquals(5, collection.getSegmentsCount(), "Figures should be split in segments!");
+        assertEquals(1, collection.getResidentSegmentsCount(), "Only the budget of segments should be resident!");
+    }
+
+    @Test
+    void testIfSnapshotDoesNotPageSegmentsIn() {
+        List<Figure> snapshot = collection.snapshot();
+
+        assertEquals(1, collection.getResidentSegmentsCount(), "Snapshot should not page spilled segments in!");
+
+        collection.delete(new Rectangle(1, 1));
+        collection.add(new Circle(1, new Point(0, 0)));
+
+        assertEquals(20, snapshot.size(), "Snapshot should keep its size!");
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(new Rectangle(i + 1, 1), snapshot.get(i), "Snapshot should not see later changes!");
+        }
+    }
+
+    @Test
+    void testIfStreamsReadSpilledSegmentsWithoutPagingThemIn() {
+        List<Figure> sequential = collection.stream().toList();
+        List<Figure> parallel = collection.parallelStream().toList();
+
+        assertEquals(20, sequential.size(), "Stream should give every figure!");
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(new Rectangle(i + 1, 1), sequential.get(i), "Stream should keep the order!");
+        }
+        assertEquals(sequential, parallel, "Parallel stream should keep the order!");
+        assertEquals(1, collection.getResidentSegmentsCount(), "Streams should not page spilled segments in!");
+    }
+
+    @Test
+    void testIfSpilledFiguresArePagedBackInOrder() {
+        for (int i = 0; i < collection.size(); i++) {
+            assertEquals(new Rectangle(i + 1, 1), collection.get(i), "Figures should be read back in order!");
+        }
+
+        assertEquals(1, collection.getResidentSegmentsCount(), "Reading should keep the budget of segments!");
+    }
+
+    @Test
+    void testIfSpilledFigureIsFoundAndDeleted() {
+        Figure spilled = new Rectangle(2, 1);
+
+        assertTrue(collection.contains(spilled), "Spilled figure should be found!");
+
+        collection.delete(spilled);
+
+        assertFalse(collection.contains(spilled), "Deleted figure should not be in the collection anymore!");
+        assertEquals(19, collection.size(), "Size should be updated after deletion!");
+        assertEquals(new Rectangle(3, 1), collection.get(1), "Next figures should take the place of the deleted!");
+        assertEquals(new Rectangle(20, 1), collection.get(18), "Last figure should stay at the end!");
+    }
+
+    @Test
+    void testIfAddedFiguresAfterSpillingAreKept() throws CloneNotSupportedException {
+        Circle circle = new Circle(1, new Point(2, 3));
+
+        collection.get(0);
+        collection.add(circle);
+        collection.duplicate(circle);
+
+        assertEquals(circle, collection.get(20), "Added figure should be at the end!");
+        assertEquals(circle, collection.get(21), "Duplicated figure should be at the end!");
+    }
+
+    @Test
+    void testIfSpillFilesAreRemovedOnClose() throws IOException {
+        collection.close();
+
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count(), "Spill files should be removed when the collection is closed!");
+        }
+    }
+
+    @Test
+    void testIfSpilledSegmentsAreMergedInOrder() {
+        collection.add(new Triangle(2, 3, 4));
+        collection.sort(Comparator.comparingDouble(Figure::getPerimeter).reversed());
+
+        assertEquals(21, collection.size(), "Sorting should keep all figures!");
+        assertEquals(6, collection.getSegmentsCount(), "Merged figures should be split in segments again!");
+        for (int i = 1; i < collection.size(); i++) {
+            assertTrue(collection.get(i - 1).getPerimeter() >= collection.get(i).getPerimeter(),
+                "Figures should be ordered by the given comparator!");
+        }
+        assertEquals(1, collection.getResidentSegmentsCount(), "Sorting should keep the budget of segments!");
+
+        collection.sortByTypeThenPerimeter();
+
+        assertEquals(new Triangle(2, 3, 4), collection.get(0), "Triangles should be ordered first!");
+        assertEquals(new Rectangle(1, 1), collection.get(1), "Rectangles should be ordered by perimeter!");
+        assertEquals(new Rectangle(20, 1), collection.get(20), "Rectangles should be ordered by perimeter!");
+
+        Map<FigureType, List<Figure>> groups = collection.groupByType();
+        assertEquals(20, groups.get(FigureType.RECTANGLE).size(), "Rectangles should be grouped together!");
+    }
+
+    @Test
+    void testIfFailedSortKeepsEveryFigure() throws IOException {
+        int[] comparisons = {0};
+        Comparator<Figure> failing = (first, second) -> {
+            if (++comparisons[0] > 40) {
+                throw new IllegalStateException("Comparison failed!");
+            }
+            return Double.compare(second.getPerimeter(), first.getPerimeter());
+        };
+
+        assertThrows(IllegalStateException.class, () -> collection.sort(failing), "Failed merge should be rethrown!");
+
+        assertEquals(20, collection.size(), "Failed sort should keep all figures!");
+        for (int i = 0; i < collection.size(); i++) {
+            assertEquals(new Rectangle(i + 1, 1), collection.get(i), "Failed sort should keep the order!");
+        }
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(collection.getSegmentsCount(), files.count(), "Failed sort should not leave run files!");
+        }
+    }
+
+    @Test
+    void testIfSpilledFiguresAreDeduplicated() {
+        assertEquals(10, collection.deduplicate(1.5), "Every second rectangle should be near the one before it!");
+
+        assertEquals(10, collection.size(), "Distinct figures should be kept!");
+        for (int i = 0; i < collection.size(); i++) {
+            assertEquals(new Rectangle(2 * i + 1, 1), collection.get(i), "Distinct figures should keep their order!");
+        }
+        assertEquals(1, collection.getResidentSegmentsCount(), "Deduplication should keep the budget of segments!");
+    }
+}
@@ -0,0 +1,68 @@
+package factories.methods;
+
+import figures.Figure;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CsvFigureFactoryTest {
+
+    static String validInput = """
+        type,first,second,third
+        triangle,1,2.01,3
+        "triangle", 2, 3.4, 4
+        rectangle,8,9
+        circle,5.5,3,8.4
+        """;
+
+    static String invalidArgumentsCountInput = """
+        triangle,1,2.01,3
+        rectangle,9
+        circle,5.5,3,8.4
+        """;
+
+    private String stringify(List<Figure> figures) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Figure f : figures) {
+            sb.append(f.toString());
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    void testIfCsvInputIsDetected() throws IOException {
+        FileFigureFactory factory = FileFigureFactory.forInput(new ByteArrayInputStream(validInput.getBytes()));
+
+        assertEquals(CsvFigureFactory.class, factory.getClass(), "CSV input should be detected by its first line!");
+    }
+
+    @Test
+    void testIfCreatedFiguresMatchInput() {
+        CsvFigureFactory factory = new CsvFigureFactory(new ByteArrayInputStream(validInput.getBytes()));
+
+        String expected = """
+            Triangle 3 2.01 1
+            Triangle 4 3.4 2
+            Rectangle 9 8
+            Circle 5.5 (3, 8.4)
+            """;
+
+        assertEquals(expected, stringify(factory.getFigures()),
+            "Created figures stringification should be the same as input");
+    }
+
+    @Test
+    void testIfInvalidArgumentsCountIsSkipped() {
+        CsvFigureFactory factory =
+            new CsvFigureFactory(new ByteArrayInputStream(invalidArgumentsCountInput.getBytes()));
+
+        assertEquals(2, factory.getFigures().size(), "Figures after an invalid line should still be created!");
+    }
+}
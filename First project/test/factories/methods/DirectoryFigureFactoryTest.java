@@ -0,0 +1,84 @@
+package factories.methods;
+
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectoryFigureFactoryTest {
+
+    @TempDir
+    Path directory;
+
+    List<Figure> expected;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        expected = new ArrayList<>();
+
+        for (int i = 0; i < 12; i++) {
+            StringBuilder sb = new StringBuilder();
+
+            for (int j = 1; j <= 50; j++) {
+                Figure figure = switch (j % 3) {
+                    case 0 -> new Triangle(i + 1, j, j + 1);
+                    case 1 -> new Rectangle(i + 1, j);
+                    default -> new Circle(j, new Point(i, j));
+                };
+
+                expected.add(figure);
+                sb.append(figure).append('\n');
+            }
+
+            Files.writeString(directory.resolve(String.format("shard-%02d.txt", i)), sb.toString());
+        }
+
+        Files.writeString(directory.resolve("notes.md"), "Not a figure file\n");
+    }
+
+    @Test
+    void testIfFilesAreMergedInFileOrder() {
+        DirectoryFigureFactory factory = new DirectoryFigureFactory(directory, "shard-*.txt", 4,
+            ImportOrder.FILE_ORDER);
+
+        assertEquals(expected, factory.getFigures(), "Figures should be merged in the order of the file names!");
+        assertEquals(expected.size(), factory.getFiguresRead(), "All parsed figures should be counted!");
+        assertTrue(factory.getBytesRead() > 0, "Read bytes should be counted!");
+    }
+
+    @Test
+    void testIfFilesAreMergedInArrivalOrder() {
+        DirectoryFigureFactory factory = new DirectoryFigureFactory(directory, "shard-*.txt", 4,
+            ImportOrder.ARRIVAL_ORDER);
+
+        Comparator<Figure> byText = Comparator.comparing(Figure::toString);
+        List<Figure> figures = factory.getFigures();
+        figures.sort(byText);
+        expected.sort(byText);
+
+        assertEquals(expected, figures, "All figures should be merged in arrival order!");
+    }
+
+    @Test
+    void testIfPatternIsSplitIntoDirectoryAndGlob() {
+        DirectoryFigureFactory factory = DirectoryFigureFactory.forPattern(directory.getParent(),
+            directory.getFileName() + "/shard-0*.txt", ImportOrder.FILE_ORDER);
+
+        assertEquals(expected.subList(0, 500), factory.getFigures(),
+            "Only the files matching the glob should be imported!");
+    }
+}
@@ -0,0 +1,76 @@
+package factories.methods;
+
+import figures.Figure;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonLinesFigureFactoryTest {
+
+    static String validInput = """
+        {"type": "triangle", "a": 1, "b": 2.01, "c": 3}
+        {"b": 3.4, "type": "Triangle", "c": 4, "a": 2, "id": "t-2"}
+        {"type":"rectangle","a":8,"b":9,"tags":["x", {"y": 1}]}
+        {"type": "circle", "radius": 5.5, "x": 3, "y": 8.4}
+        """;
+
+    static String missingDimensionInput = """
+        {"type": "rectangle", "a": 8, "b": 9}
+        {"type": "circle", "radius": 5.5, "x": 3}
+        {"type": "rectangle", "a": 8, "b": 9}
+        """;
+
+    private String stringify(List<Figure> figures) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Figure f : figures) {
+            sb.append(f.toString());
+            sb.append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    void testIfJsonLinesInputIsDetected() throws IOException {
+        FileFigureFactory factory = FileFigureFactory.forInput(new ByteArrayInputStream(validInput.getBytes()));
+
+        assertEquals(JsonLinesFigureFactory.class, factory.getClass(),
+            "JSON Lines input should be detected by its first byte!");
+    }
+
+    @Test
+    void testIfTextInputIsStillDetected() throws IOException {
+        FileFigureFactory factory =
+            FileFigureFactory.forInput(new ByteArrayInputStream("circle 5.5 (3, 8.4)\n".getBytes()));
+
+        assertEquals(FileFigureFactory.class, factory.getClass(), "Text input should keep the text factory!");
+    }
+
+    @Test
+    void testIfCreatedFiguresMatchInput() {
+        JsonLinesFigureFactory factory = new JsonLinesFigureFactory(new ByteArrayInputStream(validInput.getBytes()));
+
+        String expected = """
+            Triangle 3 2.01 1
+            Triangle 4 3.4 2
+            Rectangle 9 8
+            Circle 5.5 (3, 8.4)
+            """;
+
+        assertEquals(expected, stringify(factory.getFigures()),
+            "Created figures stringification should be the same as input");
+    }
+
+    @Test
+    void testIfMissingDimensionIsSkipped() {
+        JsonLinesFigureFactory factory =
+            new JsonLinesFigureFactory(new ByteArrayInputStream(missingDimensionInput.getBytes()));
+
+        assertEquals(2, factory.getFigures().size(), "Figures after an invalid line should still be created!");
+    }
+}
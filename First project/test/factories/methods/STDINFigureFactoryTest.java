@@ -5,8 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.util.Collection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -82,6 +85,36 @@ public class STDINFigureFactoryTest {
         assertEquals(expected, sb.toString(), "Created figures stringification should be the same as input");
     }
 
+    @Test
+    void testIfConsoleFactoryStopsAtBlankLine() throws IOException {
+        BufferedReader console = new BufferedReader(new StringReader(validInput + "\nprint\n"));
+        STDINFigureFactory consoleFactory = new STDINFigureFactory(StreamFigureFactory.linesOf(console));
+
+        Collection<Figure> figures = consoleFactory.getFigures();
+
+        assertEquals(4, figures.size(), "All figures before the blank line should be created!");
+        assertEquals("print", console.readLine(), "Lines after the blank line should stay in the console!");
+    }
+
+    @Test
+    void testIfConsoleFactorySkipsInvalidLinesUpToBlankLine() throws IOException {
+        BufferedReader console = new BufferedReader(new StringReader(invalidFigureTypeInput + "\nprint\n"));
+        STDINFigureFactory consoleFactory = new STDINFigureFactory(StreamFigureFactory.linesOf(console));
+
+        Collection<Figure> figures = consoleFactory.getFigures();
+
+        assertEquals(3, figures.size(), "Valid figures after an invalid line should be created!");
+        assertEquals("print", console.readLine(), "Lines after the blank line should stay in the console!");
+    }
+
+    @Test
+    void testIfConsoleFactoryDoesNotReplayTombstones() {
+        STDINFigureFactory consoleFactory = new STDINFigureFactory(
+            new ByteArrayInputStream("rectangle 8 9\n-rectangle 8 9\n".getBytes()));
+
+        assertEquals(1, consoleFactory.getFigures().size(), "Console input should not delete figures!");
+    }
+
 //    @Test
 //    void testIfInvalidArgumentsCountLogsError() {
 //        assertThrows(InvalidArgumentsToCreateSpecifiedFigure.class, () -> invalidArgumentsCountFactory.getFigures(),
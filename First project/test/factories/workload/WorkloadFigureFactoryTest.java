@@ -0,0 +1,106 @@
+package factories.workload;
+
+import collections.binary.Precision;
+import collections.offheap.OffHeapFigureCollection;
+import factories.methods.FileFigureFactory;
+import figures.Figure;
+import figures.FigureType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkloadFigureFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIfSameSeedGivesSameFigures() {
+        WorkloadBuilder builder = new WorkloadBuilder()
+            .setCount(1000)
+            .setSeed(7)
+            .setSizes(new LogNormalDistribution(2, 0.5))
+            .setDuplicateRate(0.3)
+            .setBurstLength(5);
+
+        assertEquals(builder.build().getFigures(), builder.build().getFigures(),
+            "Same seed and settings should generate the same figures!");
+    }
+
+    @Test
+    void testIfMixAndDuplicateRateAreRespected() {
+        List<Figure> figures = new WorkloadBuilder()
+            .setCount(10_000)
+            .setSeed(3)
+            .setMix(FigureType.TRIANGLE, 0)
+            .setMix(FigureType.RECTANGLE, 3)
+            .setMix(FigureType.CIRCLE, 1)
+            .setDuplicateRate(0.5)
+            .build()
+            .getFigures();
+
+        Set<Figure> distinct = new HashSet<>(figures);
+        long rectangles = distinct.stream().filter(figure -> FigureType.of(figure) == FigureType.RECTANGLE).count();
+
+        assertEquals(10_000, figures.size(), "All figures should be generated!");
+        assertTrue(figures.stream().noneMatch(figure -> FigureType.of(figure) == FigureType.TRIANGLE),
+            "Types without weight should not be generated!");
+        assertTrue(Math.abs((double) rectangles / distinct.size() - 0.75) < 0.03,
+            "Types should follow their weights!");
+        assertTrue(Math.abs(distinct.size() / 10_000.0 - 0.5) < 0.03, "About half of the figures should be repeated!");
+    }
+
+    @Test
+    void testIfConfigIsParsed() {
+        Properties properties = new Properties();
+        properties.setProperty("seed", "11");
+        properties.setProperty("circle", "0");
+        properties.setProperty("triangle", "0");
+        properties.setProperty("sizes", "zipf:10:1");
+
+        List<Figure> figures = WorkloadBuilder.fromProperties(properties).setCount(100).build().getFigures();
+
+        assertTrue(figures.stream().allMatch(figure -> FigureType.of(figure) == FigureType.RECTANGLE),
+            "Only rectangles should be generated!");
+        assertTrue(figures.stream().allMatch(figure -> figure.getPerimeter() <= 40),
+            "Sizes should follow the configured distribution!");
+        assertInstanceOf(UniformDistribution.class, Distribution.parse("uniform:1:2"),
+            "Uniform distribution should be parsed!");
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("gauss:1:2"),
+            "Unknown distribution should throw!");
+    }
+
+    @Test
+    void testIfDatasetsAreWrittenToFiles() throws IOException {
+        WorkloadFigureFactory workload = new WorkloadBuilder().setCount(500).setSeed(1).build();
+        Path text = tempDir.resolve("figures.txt");
+        Path binary = tempDir.resolve("figures.store");
+
+        workload.writeText(text);
+        workload.writeBinary(binary, Precision.DOUBLE);
+
+        try (InputStream input = Files.newInputStream(text)) {
+            assertEquals(500, FileFigureFactory.forInput(input).getFigures().size(),
+                "Text dataset should be read back by the file factory!");
+        }
+
+        try (OffHeapFigureCollection store = OffHeapFigureCollection.open(binary)) {
+            assertEquals(500, store.size(), "Binary dataset should be opened as a store!");
+            assertEquals(workload.getFigures().get(499), store.get(499),
+                "Binary dataset should keep the exact figures!");
+        }
+    }
+}
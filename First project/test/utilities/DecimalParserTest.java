@@ -0,0 +1,39 @@
+package utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecimalParserTest {
+
+    private double parse(String text) {
+        return DecimalParser.parse(text, 0, text.length());
+    }
+
+    @Test
+    void testIfParsedValuesAreEqualToDoubleParse() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            String text = Double.toString(random.nextDouble(-10000, 10000));
+
+            assertEquals(Double.parseDouble(text), parse(text), "Parsed value should be exactly as Double.parseDouble!");
+        }
+    }
+
+    @Test
+    void testIfRegionOfTheTextIsParsed() {
+        assertEquals(2.01, DecimalParser.parse("1, 2.01 ,3", 2, 8), "Only the region should be parsed!");
+        assertEquals(-0.0, parse("-0"), "Negative zero should keep its sign!");
+        assertEquals(1e-7, parse("1e-7"), "Exponents should be parsed!");
+    }
+
+    @Test
+    void testIfInvalidNumberThrows() {
+        assertThrows(NumberFormatException.class, () -> parse("eight"), "Invalid number should throw!");
+        assertThrows(NumberFormatException.class, () -> parse("."), "Invalid number should throw!");
+    }
+}
@@ -0,0 +1,152 @@
+package utilities.compression;
+
+import collections.FigureCollection;
+import factories.methods.CsvFigureFactory;
+import factories.methods.FileFigureFactory;
+import figures.Circle;
+import figures.Figure;
+import figures.Point;
+import figures.Rectangle;
+import figures.Triangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockGzipTest {
+    private final Path compressedFile = Path.of("./resources/output/testCompressed.txt.gz");
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(compressedFile);
+    }
+
+    private static byte[] text(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("Rectangle ").append(i % 100 + 1).append(" 2\n");
+        }
+
+        return sb.toString().getBytes();
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (BlockGzipOutputStream output = new BlockGzipOutputStream(compressed)) {
+            output.write(data);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    private static InputStream decompressing(byte[] compressed) throws IOException {
+        return BlockGzip.decompressing(new BufferedInputStream(new ByteArrayInputStream(compressed)));
+    }
+
+    @Test
+    void testIfBlocksAreReadBackInOrder() throws IOException {
+        byte[] data = text(200000);
+        byte[] compressed = compress(data);
+
+        assertTrue(compressed.length * 5 < data.length, "Figure text should compress well!");
+        assertTrue(data.length > 4 * BlockGzip.BLOCK_SIZE, "Data should span several blocks!");
+
+        try (InputStream input = decompressing(compressed)) {
+            assertInstanceOf(BlockGzipInputStream.class, input, "Framed input should be read by blocks!");
+            assertArrayEquals(data, input.readAllBytes(), "Decompressed bytes should match the written ones!");
+        }
+    }
+
+    @Test
+    void testIfBlocksAreValidGzip() throws IOException {
+        byte[] data = text(100000);
+        ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        appended.writeBytes(compress(data));
+        appended.writeBytes(compress("Circle 1 (0, 0)\n".getBytes()));
+
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(appended.toByteArray()))) {
+            assertEquals(data.length + 16, input.readAllBytes().length, "Gzip should read all members!");
+        }
+
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compress(new byte[0])))) {
+            assertEquals(0, input.readAllBytes().length, "Empty output should be a valid gzip file!");
+        }
+    }
+
+    @Test
+    void testIfPlainGzipIsReadSequentially() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(text(1000));
+        }
+
+        try (InputStream input = decompressing(compressed.toByteArray())) {
+            assertInstanceOf(GZIPInputStream.class, input, "Unframed gzip should be read by gzip stream!");
+            assertArrayEquals(text(1000), input.readAllBytes(), "Plain gzip should be decompressed!");
+        }
+    }
+
+    @Test
+    void testIfCorruptedBlockIsReported() throws IOException {
+        byte[] compressed = compress(text(1000));
+        compressed[compressed.length - 5] ^= 1;
+
+        assertThrows(IOException.class, () -> decompressing(compressed).readAllBytes());
+    }
+
+    @Test
+    void testIfCompressedInputIsDetected() throws IOException {
+        byte[] csv = compress("type,a,b,c\nrectangle,1,2,\n".getBytes());
+
+        assertInstanceOf(CsvFigureFactory.class, FileFigureFactory.forInput(new ByteArrayInputStream(csv)),
+            "Format should be detected after decompression!");
+    }
+
+    @Test
+    void testIfCompressedCheckpointIsReadBack() throws IOException {
+        FigureCollection collection = new FigureCollection();
+        Triangle triangle = new Triangle(3, 4, 5);
+
+        collection.add(triangle);
+        collection.add(new Rectangle(1, 2));
+        collection.storeIncrementally(compressedFile.getFileName().toString());
+
+        collection.delete(triangle);
+        collection.add(new Circle(1, new Point(0, 0)));
+        collection.storeIncrementally(compressedFile.getFileName().toString());
+
+        try (InputStream input = Files.newInputStream(compressedFile)) {
+            List<Figure> figures = FileFigureFactory.forCheckpoint(input).getFigures();
+
+            assertEquals(collection.snapshot(), figures, "Compressed deltas should replay into the collection!");
+        }
+    }
+
+    @Test
+    void testIfCheckpointWithoutChangesLeavesFileUntouched() throws IOException {
+        FigureCollection collection = new FigureCollection();
+        collection.add(new Rectangle(1, 2));
+        collection.storeIncrementally(compressedFile.getFileName().toString());
+
+        long size = Files.size(compressedFile);
+        collection.storeIncrementally(compressedFile.getFileName().toString());
+
+        assertEquals(size, Files.size(compressedFile), "Checkpoint without changes should not append a block!");
+    }
+}
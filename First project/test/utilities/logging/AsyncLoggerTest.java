@@ -0,0 +1,119 @@
+package utilities.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncLoggerTest {
+
+    @Test
+    void testIfMessagesAreWrittenInOrderAfterFlush() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (AsyncLogger logger = new AsyncLogger(Channels.newChannel(output), LogLevel.INFO, OverflowPolicy.BLOCK)) {
+            logger.log(LogLevel.INFO, "first");
+            logger.log(LogLevel.WARN, "second");
+            logger.flush();
+
+            assertEquals("first\n[WARN] second\n", output.toString(),
+                "Flushed messages should be written in the order they were logged!");
+        }
+    }
+
+    @Test
+    void testIfMessagesWithPercentSignAreWrittenAsTheyAre() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (AsyncLogger logger = new AsyncLogger(Channels.newChannel(output), LogLevel.INFO, OverflowPolicy.BLOCK)) {
+            logger.log(LogLevel.INFO, "100% done %s %d");
+        }
+
+        assertEquals("100% done %s %d\n", output.toString(),
+            "Messages should not be treated as format strings!");
+    }
+
+    @Test
+    void testIfMessagesBelowMinimumLevelAreSkipped() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (AsyncLogger logger = new AsyncLogger(Channels.newChannel(output), LogLevel.WARN, OverflowPolicy.BLOCK)) {
+            logger.log(LogLevel.INFO, "skipped");
+            logger.log(LogLevel.ERROR, "written");
+        }
+
+        assertEquals("[ERROR] written\n", output.toString(),
+            "Only messages at or above the minimum level should be written!");
+    }
+
+    @Test
+    void testIfMessagesAreDroppedWhenBufferIsFull() {
+        Object lock = new Object();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        WritableByteChannel blockingChannel = new WritableByteChannel() {
+            private final WritableByteChannel delegate = Channels.newChannel(output);
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                synchronized (lock) {
+                    return delegate.write(src);
+                }
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        AsyncLogger logger = new AsyncLogger(blockingChannel, LogLevel.INFO, OverflowPolicy.DROP, 4, 64);
+
+        synchronized (lock) {
+            for (int i = 0; i < 100; i++) {
+                logger.log(LogLevel.INFO, "message " + i);
+            }
+        }
+        logger.close();
+
+        assertTrue(logger.getDroppedMessages() > 0,
+            "Messages over the buffer capacity should be dropped with drop policy!");
+    }
+
+    @Test
+    void testIfFailedWriteCountsEveryLostMessage() {
+        WritableByteChannel failingChannel = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IOException("failed");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        AsyncLogger logger = new AsyncLogger(failingChannel, LogLevel.INFO, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 10; i++) {
+            logger.log(LogLevel.INFO, "message " + i);
+        }
+        logger.close();
+
+        assertEquals(10, logger.getDroppedMessages(), "Every message of a failed write should be dropped!");
+        assertEquals(0, logger.getWrittenMessages(), "Messages of a failed write should not be written!");
+    }
+}
@@ -0,0 +1,33 @@
+package utilities.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testIfPercentilesAreWithinTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long median = histogram.getPercentileNanos(0.5);
+
+        assertEquals(1000, histogram.getCount(), "All latencies should be counted!");
+        assertTrue(median >= 500_000 && median < 1_000_000, "Median should be within a factor of two!");
+        assertEquals(1000, histogram.getMaxMicros(), "Max should be the exact largest latency!");
+        assertEquals(500.5, histogram.getMeanMicros(), 1e-9, "Mean should be exact!");
+    }
+
+    @Test
+    void testIfEmptyHistogramGivesZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getP99Micros(), "Empty histogram should give zero percentiles!");
+        assertEquals(0, histogram.getMeanMicros(), "Empty histogram should give zero mean!");
+    }
+}
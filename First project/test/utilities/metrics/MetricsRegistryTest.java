@@ -0,0 +1,61 @@
+package utilities.metrics;
+
+import factories.methods.STDINFigureFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    void testIfParsingIsCounted() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        long linesBefore = metrics.getLinesParsed();
+        long failuresBefore = metrics.getParseFailures().getOrDefault("FigureTypeDoesNotExist", 0L);
+
+        new STDINFigureFactory(new ByteArrayInputStream("triangle 3 4 5\nrectangle 1 2\nhexagon 1\n".getBytes()))
+            .getFigures();
+
+        assertEquals(linesBefore + 3, metrics.getLinesParsed(), "Every read line should be counted!");
+        assertEquals(failuresBefore + 1, metrics.getParseFailures().get("FigureTypeDoesNotExist"),
+            "Failures should be counted by their exception type!");
+    }
+
+    @Test
+    void testIfParsingRateIsMeasuredSinceLastRead() {
+        MetricsRegistry metrics = new MetricsRegistry(0);
+
+        for (int i = 0; i < 100; i++) {
+            metrics.lineParsed();
+        }
+
+        assertEquals(100, metrics.getLinesParsedPerSecond(1_000_000_000L), 1e-9,
+            "Rate should be the lines parsed in the first second!");
+        assertEquals(0, metrics.getLinesParsedPerSecond(11_000_000_000L), 1e-9,
+            "Rate should drop to zero while idle!");
+    }
+
+    @Test
+    void testIfMetricsAreExposedThroughJmx() throws Exception {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.watchCollection(() -> 42, () -> 42 * 1024);
+        metrics.registerMBeans();
+        metrics.recordCommand("print", 2_000);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertEquals(42L, server.getAttribute(new ObjectName("figures:type=Metrics"), "CollectionSize"),
+            "Collection size should be readable through JMX!");
+        assertTrue((Long) server.getAttribute(new ObjectName("figures:type=CommandLatency,name=\"print\""),
+                "Count") >= 1,
+            "Command latencies should be readable through JMX!");
+        assertTrue(server.getAttribute(new ObjectName("figures:type=Metrics"), "ParseFailures") != null,
+            "Parse failures should be readable through JMX!");
+    }
+}
@@ -1,5 +1,9 @@
 package builder;
 
+import cache.CachedLabel;
+import cache.RenderCache;
+import decorators.ConcurrentCyclingTransformationsDecorator;
+import decorators.ConcurrentRandomTransformationDecorator;
 import decorators.CyclingTransformationsDecorator;
 import decorators.DecoratorType;
 import decorators.RandomTransformationDecorator;
@@ -25,6 +29,7 @@ public class LabelBuilder implements LabelBuilderAPI {
     private String fontName;
 
     private DecoratorType decoratorType;
+    private RenderCache renderCache;
 
     @Override
     public LabelBuilder setText(String text) {
@@ -74,6 +79,12 @@ public class LabelBuilder implements LabelBuilderAPI {
         return this;
     }
 
+    @Override
+    public LabelBuilder setRenderCache(RenderCache renderCache) {
+        this.renderCache = renderCache;
+        return this;
+    }
+
     @Override
     public Label build() {
         Label label = text == null ? new ProxyLabel(System.in) : new SimpleLabel(text);
@@ -84,6 +95,10 @@ public class LabelBuilder implements LabelBuilderAPI {
 
         if (decoratorType != null) {
             label = decorate(label);
+
+            if (renderCache != null) {
+                label = new CachedLabel(label, renderCache);
+            }
         }
 
         if (helpText != null) {
@@ -98,6 +113,8 @@ public class LabelBuilder implements LabelBuilderAPI {
             case COMPOSITE -> label = new CompositeTransformationDecorator(label, transformations);
             case CYCLING -> label = new CyclingTransformationsDecorator(label, transformations);
             case RANDOM -> label = new RandomTransformationDecorator(label, transformations, new CustomRandom());
+            case CONCURRENT_CYCLING -> label = new ConcurrentCyclingTransformationsDecorator(label, transformations);
+            case CONCURRENT_RANDOM -> label = new ConcurrentRandomTransformationDecorator(label, transformations);
             case SINGLE -> {
                 for (TextTransformation transformation : transformations) {
                     label = new TextTransformationDecorator(label, transformation);
@@ -1,5 +1,6 @@
 package builder;
 
+import cache.RenderCache;
 import decorators.DecoratorType;
 import label.Label;
 import transformations.TextTransformation;
@@ -24,5 +25,7 @@ public interface LabelBuilderAPI {
 
     public LabelBuilder setDecoratorType(DecoratorType decoratorType);
 
+    public LabelBuilder setRenderCache(RenderCache renderCache);
+
     public Label build();
 }
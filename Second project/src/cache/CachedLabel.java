@@ -0,0 +1,99 @@
+package cache;
+
+import decorators.DecoratedLabel;
+import decorators.LabelDecoratorBase;
+import label.Label;
+import transformations.TextTransformation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Renders a decorator chain through a cache. The text of the undecorated label is read every time and
+// the rendered text is cached for the chain, its newest stamp and that text. Any change of a decorator in
+// the chain gives it a new stamp, so texts of an old version of the chain are never returned again and
+// just age out. Chains with a cycling or random decorator are rendered without the cache.
+public class CachedLabel implements DecoratedLabel {
+    private volatile Label label;
+    private final RenderCache cache;
+
+    public CachedLabel(Label label, RenderCache cache) {
+        this.label = label;
+        this.cache = cache;
+    }
+
+    public Label getLabel() {
+        return label;
+    }
+
+    // Removes the decorator from the cached chain, the cache keeps wrapping what is left of it
+    @Override
+    public Label removeDecorator(Class<? extends LabelDecoratorBase> decoratorType) {
+        Label chain = label;
+        Label newChain = LabelDecoratorBase.removeDecoratorFrom(chain, decoratorType);
+
+        if (newChain != chain) {
+            label = newChain;
+            cache.invalidate(chain);
+        }
+
+        return this;
+    }
+
+    public void setTextTransformation(List<TextTransformation> textTransformations) {
+        if (!(label instanceof LabelDecoratorBase decorator)) {
+            throw new IllegalArgumentException("Label cannot be null or undecorated!");
+        }
+
+        decorator.setTextTransformation(textTransformations);
+    }
+
+    @Override
+    public String getText() {
+        Label label = this.label;
+
+        if (!(label instanceof LabelDecoratorBase)) {
+            return label.getText();
+        }
+
+        List<LabelDecoratorBase> chain = new ArrayList<>();
+        long stamp = 0;
+        Label current = label;
+
+        while (current instanceof LabelDecoratorBase decorator) {
+            if (!decorator.isDeterministic()) {
+                return label.getText();
+            }
+
+            chain.add(decorator);
+            stamp = Math.max(stamp, decorator.getStamp());
+            current = decorator.getSubject();
+        }
+
+        String input = current.getText();
+        if (input == null) {
+            return render(chain, null);
+        }
+
+        RenderCache.RenderKey key = new RenderCache.RenderKey(label, stamp, input);
+        String text = cache.get(key);
+
+        if (text == null) {
+            text = render(chain, input);
+
+            if (text != null) {
+                cache.put(key, text);
+            }
+        }
+
+        return text;
+    }
+
+    // The chain is collected from the outermost decorator, so it is applied from the end
+    private static String render(List<LabelDecoratorBase> chain, String text) {
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            text = chain.get(i).transformText(text);
+        }
+
+        return text;
+    }
+}
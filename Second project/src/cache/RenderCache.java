@@ -0,0 +1,166 @@
+package cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Segmented LRU of rendered texts bounded by their size in characters. New texts go into the probation
+// segment and move into the protected one on their second hit, so texts rendered once can't push out the
+// ones rendered again and again. Texts leaving the protected segment get another chance in probation.
+public class RenderCache {
+    public static final long DEFAULT_MAX_WEIGHT = 1 << 22;
+
+    // Rough size of the key, the entry and the string headers in characters
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final long maxWeight;
+    private final long maxProtectedWeight;
+    private final LinkedHashMap<RenderKey, String> probation;
+    private final LinkedHashMap<RenderKey, String> protectedSegment;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // The chain is compared by identity, the stamp tells which version of the chain rendered the text
+    record RenderKey(Object chain, long stamp, String input) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RenderKey key && key.chain == chain && key.stamp == stamp &&
+                key.input.equals(input);
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(chain) * 31 + Long.hashCode(stamp)) * 31 + input.hashCode();
+        }
+    }
+
+    public RenderCache() {
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    public RenderCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive!");
+        }
+
+        this.maxWeight = maxWeight;
+        this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+        probation = new LinkedHashMap<>(16, 0.75f, true);
+        protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static long weightOf(RenderKey key, String text) {
+        return key.input().length() + text.length() + ENTRY_OVERHEAD;
+    }
+
+    synchronized String get(RenderKey key) {
+        String text = protectedSegment.get(key);
+
+        if (text != null) {
+            hits++;
+            return text;
+        }
+
+        text = probation.remove(key);
+
+        if (text == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        probationWeight -= weightOf(key, text);
+        protectedSegment.put(key, text);
+        protectedWeight += weightOf(key, text);
+
+        while (protectedWeight > maxProtectedWeight) {
+            Map.Entry<RenderKey, String> demoted = protectedSegment.pollFirstEntry();
+            protectedWeight -= weightOf(demoted.getKey(), demoted.getValue());
+            probation.put(demoted.getKey(), demoted.getValue());
+            probationWeight += weightOf(demoted.getKey(), demoted.getValue());
+        }
+
+        return text;
+    }
+
+    // Texts bigger than the whole cache are not kept
+    synchronized void put(RenderKey key, String text) {
+        long weight = weightOf(key, text);
+
+        if (weight > maxWeight || protectedSegment.containsKey(key)) {
+            return;
+        }
+
+        String previous = probation.put(key, text);
+        if (previous != null) {
+            probationWeight -= weightOf(key, previous);
+        }
+        probationWeight += weight;
+
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        while (probationWeight + protectedWeight > maxWeight) {
+            boolean fromProbation = !probation.isEmpty();
+            Map.Entry<RenderKey, String> evicted = (fromProbation ? probation : protectedSegment).pollFirstEntry();
+            long weight = weightOf(evicted.getKey(), evicted.getValue());
+
+            if (fromProbation) {
+                probationWeight -= weight;
+            } else {
+                protectedWeight -= weight;
+            }
+            evictions++;
+        }
+    }
+
+    // Drops the texts of one chain, e.g. when the chain is not used anymore
+    public synchronized void invalidate(Object chain) {
+        probation.entrySet().removeIf(entry -> {
+            if (entry.getKey().chain() == chain) {
+                probationWeight -= weightOf(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        protectedSegment.entrySet().removeIf(entry -> {
+            if (entry.getKey().chain() == chain) {
+                protectedWeight -= weightOf(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public synchronized void clear() {
+        probation.clear();
+        protectedSegment.clear();
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    public synchronized long getWeight() {
+        return probationWeight + protectedWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+}
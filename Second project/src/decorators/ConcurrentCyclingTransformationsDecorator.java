@@ -0,0 +1,42 @@
+package decorators;
+
+import label.Label;
+import transformations.TextTransformation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cycles through the transformations like CyclingTransformationsDecorator, but is safe to render from many
+// threads, every call takes its own position and none is lost or repeated
+public class ConcurrentCyclingTransformationsDecorator extends LabelDecoratorBase {
+    // The transformations and their counter are replaced together, so a reset never mixes with an old list
+    private record Cycle(List<TextTransformation> textTransformations, AtomicLong counter) {
+    }
+
+    private volatile Cycle cycle;
+
+    public ConcurrentCyclingTransformationsDecorator(Label subject, List<TextTransformation> textTransformations) {
+        super(subject);
+        cycle = new Cycle(List.copyOf(textTransformations), new AtomicLong());
+    }
+
+    @Override
+    public String transformText(String text) {
+        Cycle current = cycle;
+        List<TextTransformation> transformations = current.textTransformations();
+        int index = (int) Math.floorMod(current.counter().getAndIncrement(), (long) transformations.size());
+
+        return transformations.get(index).transform(text);
+    }
+
+    @Override
+    public void setTextTransformation(List<TextTransformation> textTransformations) {
+        cycle = new Cycle(List.copyOf(textTransformations), new AtomicLong());
+        markChanged();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package decorators;
+
+import label.Label;
+import random.SplittableRandomSource;
+import transformations.TextTransformation;
+
+import java.util.List;
+
+// Picks a random transformation like RandomTransformationDecorator, but every rendering thread draws from its
+// own generator, the seed makes the choices reproducible
+public class ConcurrentRandomTransformationDecorator extends LabelDecoratorBase {
+    private final SplittableRandomSource randomSource;
+    private volatile List<TextTransformation> textTransformations;
+
+    public ConcurrentRandomTransformationDecorator(Label subject, List<TextTransformation> textTransformations) {
+        this(subject, textTransformations, new SplittableRandomSource());
+    }
+
+    public ConcurrentRandomTransformationDecorator(Label subject, List<TextTransformation> textTransformations,
+                                                   long seed) {
+        this(subject, textTransformations, new SplittableRandomSource(seed));
+    }
+
+    public ConcurrentRandomTransformationDecorator(Label subject, List<TextTransformation> textTransformations,
+                                                   SplittableRandomSource randomSource) {
+        super(subject);
+        this.textTransformations = List.copyOf(textTransformations);
+        this.randomSource = randomSource;
+    }
+
+    @Override
+    public String transformText(String text) {
+        List<TextTransformation> transformations = textTransformations;
+
+        return transformations.get(randomSource.nextInt(0, transformations.size())).transform(text);
+    }
+
+    @Override
+    public void setTextTransformation(List<TextTransformation> textTransformations) {
+        this.textTransformations = List.copyOf(textTransformations);
+        markChanged();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+}
@@ -16,8 +16,8 @@ public class CyclingTransformationsDecorator extends LabelDecoratorBase {
     }
 
     @Override
-    public String getText() {
-        String transformedText = textTransformations.get(cyclingIt).transform(super.getText());
+    public String transformText(String text) {
+        String transformedText = textTransformations.get(cyclingIt).transform(text);
         cyclingIt = (++cyclingIt) % textTransformations.size();
         return transformedText;
     }
@@ -26,5 +26,11 @@ public class CyclingTransformationsDecorator extends LabelDecoratorBase {
     public void setTextTransformation(List<TextTransformation> textTransformations) {
         this.textTransformations = textTransformations;
         cyclingIt = 0;
+        markChanged();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
     }
 }
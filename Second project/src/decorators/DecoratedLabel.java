@@ -0,0 +1,8 @@
+package decorators;
+
+import label.Label;
+
+// A label wrapping a decorator chain, removing a decorator changes the chain in place and keeps the wrapper
+public interface DecoratedLabel extends Label {
+    public Label removeDecorator(Class<? extends LabelDecoratorBase> decoratorType);
+}
@@ -1,5 +1,5 @@
 package decorators;
 
 public enum DecoratorType {
-    COMPOSITE, CYCLING, RANDOM, SINGLE
+    COMPOSITE, CYCLING, RANDOM, SINGLE, CONCURRENT_CYCLING, CONCURRENT_RANDOM
 }
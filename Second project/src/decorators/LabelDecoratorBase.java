@@ -4,16 +4,47 @@ import label.Label;
 import transformations.TextTransformation;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 // TODO: ask for remove
 public abstract class LabelDecoratorBase implements Label {
+    // Every change of any decorator takes a new stamp, so a chain whose newest stamp is the same has not changed
+    private static final AtomicLong STAMPS = new AtomicLong();
+
     private Label subject;
+    private volatile long stamp;
 
     public LabelDecoratorBase(Label subject) {
         this.subject = subject;
+        stamp = STAMPS.incrementAndGet();
+    }
+
+    protected void markChanged() {
+        stamp = STAMPS.incrementAndGet();
+    }
+
+    public long getStamp() {
+        return stamp;
+    }
+
+    public Label getSubject() {
+        return subject;
     }
 
+    // Whether the same text always gives the same result, decorators with a state should return false
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    // Applies this decorator alone to the text of its subject
+    public abstract String transformText(String text);
+
     public static Label removeDecoratorFrom(Label label, Class<? extends LabelDecoratorBase> decoratorType) {
+        // A wrapped chain is changed in place, so the wrapper stays the outermost label
+        if (label instanceof DecoratedLabel decoratedLabel) {
+            return decoratedLabel.removeDecorator(decoratorType);
+        }
+
         // Check if the label is null or not a decorator, in which case there's nothing to do
         if (!(label instanceof LabelDecoratorBase currentDecorator)) {
             throw new IllegalArgumentException("Label cannot be null or undecorated!");
@@ -32,6 +63,7 @@ public abstract class LabelDecoratorBase implements Label {
         // If the subject has changed (decorator was removed), update the subject
         if (newSubject != innerLabel) {
             currentDecorator.subject = newSubject;
+            currentDecorator.markChanged();
         }
 
         // Return the current decorator, which now has the subject with the decorator removed
@@ -48,7 +80,12 @@ public abstract class LabelDecoratorBase implements Label {
             // Try to remove decoratorType from it.
             // Note that we may need to reassign subject, because the
             // requested decorator may be on top of the list.
-            subject = ((LabelDecoratorBase) subject).removeDecorator(decoratorType);
+            Label newSubject = ((LabelDecoratorBase) subject).removeDecorator(decoratorType);
+
+            if (newSubject != subject) {
+                subject = newSubject;
+                markChanged();
+            }
 
             // Return the current object to keep it on top of the list
             return this;
@@ -65,7 +102,7 @@ public abstract class LabelDecoratorBase implements Label {
 
     @Override
     public String getText() {
-        return subject.getText();
+        return transformText(subject.getText());
     }
 
     public abstract void setTextTransformation(List<TextTransformation> textTransformations);
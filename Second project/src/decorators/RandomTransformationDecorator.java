@@ -18,14 +18,20 @@ public class RandomTransformationDecorator extends LabelDecoratorBase {
     }
 
     @Override
-    public String getText() {
+    public String transformText(String text) {
         return textTransformations.get(getRandomIndex(textTransformations.size()))
-            .transform(super.getText());
+            .transform(text);
     }
 
     @Override
     public void setTextTransformation(List<TextTransformation> textTransformations) {
         this.textTransformations = textTransformations;
+        markChanged();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
     }
 
     private int getRandomIndex(int bound) {
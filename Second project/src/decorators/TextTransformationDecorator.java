@@ -14,12 +14,13 @@ public class TextTransformationDecorator extends LabelDecoratorBase {
     }
 
     @Override
-    public String getText() {
-        return textTransformation.transform(super.getText());
+    public String transformText(String text) {
+        return textTransformation.transform(text);
     }
 
     @Override
     public void setTextTransformation(List<TextTransformation> textTransformation) {
         this.textTransformation = textTransformation.getFirst();
+        markChanged();
     }
 }
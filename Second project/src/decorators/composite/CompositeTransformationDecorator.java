@@ -11,6 +11,8 @@ import java.util.Queue;
 public class CompositeTransformationDecorator extends LabelDecoratorBase {
 
     private Queue<TextTransformation> composedTransformations;
+    private TransformationPipeline pipeline;
+
     public CompositeTransformationDecorator(Label subject) {
         super(subject);
         composedTransformations = new LinkedList<>();
@@ -23,18 +25,26 @@ public class CompositeTransformationDecorator extends LabelDecoratorBase {
 
     public void add(TextTransformation textTransformation) {
         composedTransformations.add(textTransformation);
+        pipeline = null;
+        markChanged();
     }
 
     @Override
-    public String getText() {
-        return composedTransformations.stream()
-            .reduce(super.getText(),
-                (text, transformation) -> transformation.transform(text),
-                (text1, text2) -> text2);
+    public String transformText(String text) {
+        TransformationPipeline compiled = pipeline;
+
+        if (compiled == null) {
+            compiled = TransformationPipeline.compile(composedTransformations);
+            pipeline = compiled;
+        }
+
+        return compiled.transform(text);
     }
 
     @Override
     public void setTextTransformation(List<TextTransformation> textTransformations) {
         composedTransformations = new LinkedList<>(textTransformations);
+        pipeline = null;
+        markChanged();
     }
 }
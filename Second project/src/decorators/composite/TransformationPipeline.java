@@ -0,0 +1,116 @@
+package decorators.composite;
+
+import transformations.BufferedTextTransformation;
+import transformations.TextBuffer;
+import transformations.TextTransformation;
+
+import java.util.Collection;
+
+// Chain of transformations compiled into one pass over a per-thread buffer. The text is copied into the
+// buffer and validated once before the first buffered transformation, then every buffered transformation
+// changes the buffer and only the ones which can make the text invalid cause another validation.
+// Other transformations get the text as a string and validate it themselves.
+public final class TransformationPipeline {
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final TextTransformation[] steps;
+
+    private static final class Scratch {
+        private final TextBuffer buffer = new TextBuffer();
+        private boolean inUse;
+    }
+
+    private TransformationPipeline(TextTransformation[] steps) {
+        this.steps = steps;
+    }
+
+    public static TransformationPipeline compile(Collection<TextTransformation> transformations) {
+        return new TransformationPipeline(transformations.toArray(new TextTransformation[0]));
+    }
+
+    public int size() {
+        return steps.length;
+    }
+
+    public String transform(String text) {
+        if (steps.length == 0) {
+            return text;
+        }
+
+        // Without text there is nothing to buffer, the transformations get it as it is
+        if (text == null) {
+            return transformPlain(text, 0);
+        }
+
+        // A transformation of this chain may render another label on the same thread
+        Scratch scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            return transform(text, new TextBuffer());
+        }
+
+        scratch.inUse = true;
+        try {
+            return transform(text, scratch.buffer);
+        } finally {
+            scratch.inUse = false;
+
+            if (scratch.buffer.text().capacity() > MAX_RETAINED_CAPACITY) {
+                SCRATCH.remove();
+            }
+        }
+    }
+
+    private String transform(String text, TextBuffer buffer) {
+        buffer.reset(text);
+        boolean valid = false;
+
+        for (int i = 0; i < steps.length; i++) {
+            if (steps[i] instanceof BufferedTextTransformation bufferedStep) {
+                if (!valid) {
+                    validateText(buffer.text());
+                }
+
+                bufferedStep.transformInPlace(buffer);
+                valid = bufferedStep.keepsTextValid();
+            } else {
+                String transformed = steps[i].transform(buffer.text().toString());
+
+                if (transformed == null) {
+                    return transformPlain(transformed, i + 1);
+                }
+
+                buffer.reset(transformed);
+                valid = false;
+            }
+        }
+
+        return buffer.text().toString();
+    }
+
+    private String transformPlain(String text, int firstStep) {
+        for (int i = firstStep; i < steps.length; i++) {
+            text = steps[i].transform(text);
+        }
+
+        return text;
+    }
+
+    // Same check as ValidTextTransformation does
+    private static void validateText(CharSequence text) {
+        if (text.isEmpty() || isBlank(text)) {
+            throw new IllegalArgumentException("Invalid text");
+        }
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
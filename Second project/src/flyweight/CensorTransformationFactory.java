@@ -1,20 +1,27 @@
 package flyweight;
 
-import transformations.CensorTransformation;
 import transformations.TextTransformation;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
 
 public class CensorTransformationFactory {
-    private final Map<String, CensorTransformation> flyweights = new HashMap<>();
+    // Every word is shared, the factory is bounded and safe to use from several threads
+    private final TransformationFactory flyweights;
+
+    public CensorTransformationFactory() {
+        this(new TransformationFactory());
+    }
+
+    public CensorTransformationFactory(TransformationFactory flyweights) {
+        this.flyweights = flyweights;
+    }
 
     public TextTransformation getCensorTransformation(String word) {
-        if (word.length() <= 4) {
-            flyweights.putIfAbsent(word, new CensorTransformation(word));
-            return flyweights.get(word);
-        } else {
-            return new CensorTransformation(word);
-        }
+        return flyweights.getCensorTransformation(word);
+    }
+
+    // The automaton of a dictionary is built once, the transformation is immutable and shared between threads
+    public TextTransformation getCensorTransformation(Collection<String> words) {
+        return flyweights.getCensorTransformation(words);
     }
-}
\ No newline at end of file
+}
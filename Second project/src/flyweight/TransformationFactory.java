@@ -0,0 +1,241 @@
+package flyweight;
+
+import transformations.CensorTransformation;
+import transformations.DictionaryTransformation;
+import transformations.MultiCensorTransformation;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Thread safe flyweights of parameterized transformations. Hits only read the concurrent map, misses create
+// the transformation outside of it and only publish it there, when several threads miss the same key at once
+// the first one published is shared by all of them. Over the maximum size the entries are evicted in the order they were
+// added, but an entry used since its last check gets a second chance (CLOCK). With weak values the
+// transformations nobody uses anymore are collected and created again on the next request. The order queue
+// holds the entries themselves, entries replaced or collected meanwhile are dropped from it when they come up,
+// and it is drained as soon as it holds twice the maximum size.
+public class TransformationFactory {
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final int maxSize;
+    private final boolean weakValues;
+    private final Map<FlyweightKey, Entry> entries;
+    private final Queue<Entry> order;
+    private final AtomicInteger queued;
+    private final ReferenceQueue<TextTransformation> collected;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    // Parameters are compared by equals, null parameters are allowed
+    private record FlyweightKey(Class<?> type, List<Object> parameters) {
+    }
+
+    private static final class WeakValue extends WeakReference<TextTransformation> {
+        private final FlyweightKey key;
+
+        private WeakValue(TextTransformation value, FlyweightKey key, ReferenceQueue<TextTransformation> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Entry {
+        private final FlyweightKey key;
+        private final TextTransformation strongValue;
+        private final WeakValue weakValue;
+        private volatile boolean referenced;
+
+        private Entry(FlyweightKey key, TextTransformation strongValue, WeakValue weakValue) {
+            this.key = key;
+            this.strongValue = strongValue;
+            this.weakValue = weakValue;
+        }
+
+        private TextTransformation value() {
+            return strongValue != null ? strongValue : weakValue.get();
+        }
+    }
+
+    public TransformationFactory() {
+        this(DEFAULT_MAX_SIZE, false);
+    }
+
+    public TransformationFactory(int maxSize, boolean weakValues) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Factory size should be positive!");
+        }
+
+        this.maxSize = maxSize;
+        this.weakValues = weakValues;
+        entries = new ConcurrentHashMap<>();
+        order = new ConcurrentLinkedQueue<>();
+        queued = new AtomicInteger();
+        collected = new ReferenceQueue<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    public TextTransformation getCensorTransformation(String word) {
+        return get(CensorTransformation.class, () -> new CensorTransformation(word), word);
+    }
+
+    public TextTransformation getReplaceTransformation(String wordToReplace, String replacement) {
+        return get(ReplaceTransformation.class, () -> new ReplaceTransformation(wordToReplace, replacement),
+            wordToReplace, replacement);
+    }
+
+    // Null and blank words are skipped like the transformations skip them, so they don't split the keys
+    public TextTransformation getCensorTransformation(Collection<String> words) {
+        Set<String> dictionary = validWords(words);
+
+        return get(MultiCensorTransformation.class, () -> new MultiCensorTransformation(dictionary), dictionary);
+    }
+
+    public TextTransformation getDictionaryTransformation(Map<String, String> wordsToReplace,
+                                                          Collection<String> wordsToCensor) {
+        Map<String, String> replacements = new HashMap<>();
+        wordsToReplace.forEach((word, replacement) -> {
+            if (isValid(word) && isValid(replacement)) {
+                replacements.put(word, replacement);
+            }
+        });
+        Set<String> censored = validWords(wordsToCensor);
+
+        return get(DictionaryTransformation.class, () -> new DictionaryTransformation(replacements, censored),
+            Map.copyOf(replacements), censored);
+    }
+
+    private static Set<String> validWords(Collection<String> words) {
+        Set<String> valid = new HashSet<>();
+        for (String word : words) {
+            if (isValid(word)) {
+                valid.add(word);
+            }
+        }
+
+        return Set.copyOf(valid);
+    }
+
+    private static boolean isValid(String word) {
+        return word != null && !word.isBlank() && !word.isEmpty();
+    }
+
+    // Any other transformation type, the parameters should identify the transformation the creator makes
+    public <T extends TextTransformation> T get(Class<T> type, Supplier<? extends T> creator, Object... parameters) {
+        FlyweightKey key = new FlyweightKey(type, Arrays.asList(parameters.clone()));
+        Entry entry = entries.get(key);
+        TextTransformation value = entry == null ? null : entry.value();
+
+        if (value != null) {
+            hits.increment();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+
+            return type.cast(value);
+        }
+
+        misses.increment();
+        purgeCollected();
+
+        // Created outside of compute, so a slow or reentrant creator doesn't lock the other keys of its bin.
+        // The shared transformation is held here, so a weak value can't be collected before it is returned.
+        // Only the thread whose entry is published queues it, so concurrent misses don't repeat it.
+        TextTransformation created = creator.get();
+        Entry candidate = weakValues ? new Entry(key, null, new WeakValue(created, key, collected)) :
+            new Entry(key, created, null);
+        TextTransformation[] shared = {created};
+
+        Entry current = entries.compute(key, (ignored, existing) -> {
+            TextTransformation existingValue = existing == null ? null : existing.value();
+
+            if (existingValue == null) {
+                return candidate;
+            }
+
+            shared[0] = existingValue;
+            return existing;
+        });
+
+        if (current == candidate) {
+            queued.incrementAndGet();
+            order.offer(candidate);
+            evictOverflow();
+        }
+
+        return type.cast(shared[0]);
+    }
+
+    private void purgeCollected() {
+        for (Object polled = collected.poll(); polled != null; polled = collected.poll()) {
+            WeakValue reference = (WeakValue) polled;
+            entries.computeIfPresent(reference.key, (ignored, entry) -> entry.weakValue == reference ? null : entry);
+        }
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxSize || queued.get() > 2 * maxSize) {
+            Entry entry = order.poll();
+            if (entry == null) {
+                return;
+            }
+
+            // Replaced, evicted or collected since it was queued
+            if (entries.get(entry.key) != entry) {
+                queued.decrementAndGet();
+                continue;
+            }
+
+            if (entries.size() <= maxSize) {
+                order.offer(entry);
+            } else if (entry.referenced && entry.value() != null) {
+                entry.referenced = false;
+                order.offer(entry);
+            } else {
+                queued.decrementAndGet();
+                if (entries.remove(entry.key, entry)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    // Entries in the order queue, the live ones and the ones to be dropped
+    int queuedCount() {
+        return queued.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -24,6 +24,10 @@ public class HelpExtendedLabel implements HelpLabel {
         return (helpText != null ? helpText : "");
     }
 
+    public Label getLabel() {
+        return label;
+    }
+
     @Override
     public String getText() {
         return label.getText();
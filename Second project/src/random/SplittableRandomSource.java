@@ -0,0 +1,40 @@
+package random;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Random generator for many threads, every thread draws from its own generator split from one root, so the
+// threads don't contend on a shared seed. With the same seed the thread that asks first always gets the same
+// numbers, a single thread gets the same sequence every run
+public class SplittableRandomSource implements RandomGenerator {
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> generators;
+
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom root) {
+        this.root = root;
+        generators = ThreadLocal.withInitial(this::split);
+    }
+
+    // The root is not thread safe, but it is split only once per thread
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return generators.get().nextInt(origin, bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return generators.get().nextLong();
+    }
+}
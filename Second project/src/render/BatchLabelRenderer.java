@@ -0,0 +1,272 @@
+package render;
+
+import cache.CachedLabel;
+import decorators.LabelDecoratorBase;
+import label.Label;
+import label.ProxyLabel;
+import label.help.HelpExtendedLabel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Renders many labels at once. The batch is split into chunks rendered in parallel on the executor, the
+// fork-join common pool by default. Labels whose text depends on earlier renders (cycling, random and proxy
+// labels) are rendered one by one in the order of the batch on the calling thread meanwhile, so they give
+// the same texts as rendering the batch in a loop. Composite decorators reuse their per-thread buffers. When
+// a render fails the chunks are stopped and awaited, so nothing is written once the exception is thrown.
+public class BatchLabelRenderer implements AutoCloseable {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final boolean ownsExecutor;
+
+    // Receives the text of the label at the index of the batch, it is called from several threads
+    @FunctionalInterface
+    public interface Sink {
+        public void accept(int index, String text);
+    }
+
+    public record Report(int count, int sequentialCount, long elapsedNanos) {
+        public double getLabelsPerSecond() {
+            return count * 1e9 / Math.max(1, elapsedNanos);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void render(int from, int to);
+    }
+
+    public BatchLabelRenderer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    // The executor stays owned by the caller, closing the renderer doesn't shut it down
+    public BatchLabelRenderer(ExecutorService executor, int chunkSize) {
+        this(executor, chunkSize, false);
+    }
+
+    private BatchLabelRenderer(ExecutorService executor, int chunkSize, boolean ownsExecutor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive!");
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public static BatchLabelRenderer withVirtualThreads() {
+        return new BatchLabelRenderer(Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_CHUNK_SIZE, true);
+    }
+
+    public Report render(Collection<? extends Label> labels, String[] output) {
+        checkOutput(labels.size(), output);
+        return render(labels, (index, text) -> output[index] = text);
+    }
+
+    public Report render(Collection<? extends Label> labels, Sink sink) {
+        long start = System.nanoTime();
+        Label[] batch = labels.toArray(new Label[0]);
+
+        int[] parallel = new int[batch.length];
+        int[] sequential = new int[batch.length];
+        int parallelCount = 0;
+        int sequentialCount = 0;
+
+        for (int i = 0; i < batch.length; i++) {
+            if (isStateful(batch[i])) {
+                sequential[sequentialCount++] = i;
+            } else {
+                parallel[parallelCount++] = i;
+            }
+        }
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Future<?>> chunks = submit(parallelCount, (from, to) -> {
+            for (int i = from; i < to && !stopped.get(); i++) {
+                sink.accept(parallel[i], batch[parallel[i]].getText());
+            }
+        });
+
+        boolean rendered = false;
+        try {
+            for (int i = 0; i < sequentialCount; i++) {
+                sink.accept(sequential[i], batch[sequential[i]].getText());
+            }
+            rendered = true;
+        } finally {
+            if (!rendered) {
+                stop(stopped, chunks);
+            }
+        }
+
+        await(stopped, chunks);
+        return new Report(batch.length, sequentialCount, System.nanoTime() - start);
+    }
+
+    // Applies the decorators of the template to every input instead of the text of its undecorated label
+    public Report render(Label template, List<String> inputs, String[] output) {
+        checkOutput(inputs.size(), output);
+        return render(template, inputs, (index, text) -> output[index] = text);
+    }
+
+    public Report render(Label template, List<String> inputs, Sink sink) {
+        long start = System.nanoTime();
+        LabelDecoratorBase[] chain = chainOf(template);
+        String[] batch = inputs.toArray(new String[0]);
+        AtomicBoolean stopped = new AtomicBoolean();
+        ChunkTask task = (from, to) -> {
+            for (int i = from; i < to && !stopped.get(); i++) {
+                sink.accept(i, render(chain, batch[i]));
+            }
+        };
+
+        if (!isDeterministic(chain)) {
+            task.render(0, batch.length);
+            return new Report(batch.length, batch.length, System.nanoTime() - start);
+        }
+
+        await(stopped, submit(batch.length, task));
+        return new Report(batch.length, 0, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        // Only the executor created by the renderer is shut down
+        if (ownsExecutor) {
+            executor.close();
+        }
+    }
+
+    private List<Future<?>> submit(int count, ChunkTask task) {
+        List<Future<?>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < count; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(count, from + chunkSize);
+            chunks.add(executor.submit(() -> task.render(chunkFrom, chunkTo)));
+        }
+
+        return chunks;
+    }
+
+    private static void await(AtomicBoolean stopped, List<Future<?>> chunks) {
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            stop(stopped, chunks);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering was interrupted!", e);
+        } catch (ExecutionException e) {
+            stop(stopped, chunks);
+
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw new IllegalStateException("Rendering failed!", e.getCause());
+        }
+    }
+
+    // Cancelling a running chunk doesn't stop it, so the chunks check the flag and are waited for to end
+    private static void stop(AtomicBoolean stopped, List<Future<?>> chunks) {
+        stopped.set(true);
+        boolean interrupted = Thread.interrupted();
+
+        for (Future<?> chunk : chunks) {
+            while (true) {
+                try {
+                    chunk.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void checkOutput(int count, String[] output) {
+        if (output.length < count) {
+            throw new IllegalArgumentException("Output is too small for the batch!");
+        }
+    }
+
+    private static boolean isStateful(Label label) {
+        Label current = label;
+
+        while (true) {
+            if (current instanceof CachedLabel cachedLabel) {
+                current = cachedLabel.getLabel();
+            } else if (current instanceof HelpExtendedLabel helpLabel) {
+                current = helpLabel.getLabel();
+            } else if (current instanceof LabelDecoratorBase decorator) {
+                if (!decorator.isDeterministic()) {
+                    return true;
+                }
+
+                current = decorator.getSubject();
+            } else {
+                return current instanceof ProxyLabel;
+            }
+        }
+    }
+
+    // The text of the template's label is never read, a proxy label made by the builder doesn't make it stateful
+    private static boolean isDeterministic(LabelDecoratorBase[] chain) {
+        for (LabelDecoratorBase decorator : chain) {
+            if (!decorator.isDeterministic()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // The decorators from the innermost one, so they are applied in the order of the array
+    private static LabelDecoratorBase[] chainOf(Label template) {
+        List<LabelDecoratorBase> chain = new ArrayList<>();
+        Label current = template;
+
+        while (true) {
+            if (current instanceof CachedLabel cachedLabel) {
+                current = cachedLabel.getLabel();
+            } else if (current instanceof HelpExtendedLabel helpLabel) {
+                current = helpLabel.getLabel();
+            } else if (current instanceof LabelDecoratorBase decorator) {
+                chain.add(0, decorator);
+                current = decorator.getSubject();
+            } else {
+                return chain.toArray(new LabelDecoratorBase[0]);
+            }
+        }
+    }
+
+    private static String render(LabelDecoratorBase[] chain, String text) {
+        for (LabelDecoratorBase decorator : chain) {
+            text = decorator.transformText(text);
+        }
+
+        return text;
+    }
+}
@@ -0,0 +1,11 @@
+package transformations;
+
+// Transformation which works on a shared buffer, the buffer always holds valid text when it is called
+public interface BufferedTextTransformation extends TextTransformation {
+    void transformInPlace(TextBuffer buffer);
+
+    // Whether a valid text stays valid, otherwise it has to be validated again before the next transformation
+    default boolean keepsTextValid() {
+        return true;
+    }
+}
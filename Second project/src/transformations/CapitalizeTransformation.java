@@ -1,6 +1,6 @@
 package transformations;
 
-public class CapitalizeTransformation extends ValidTextTransformation {
+public class CapitalizeTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     @Override
     public String transform(String text) {
         validateText(text);
@@ -10,4 +10,12 @@ public class CapitalizeTransformation extends ValidTextTransformation {
 
         return text;
     }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        StringBuilder text = buffer.text();
+        if (Character.isLetter(text.charAt(0))) {
+            text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package transformations;
 
-public class CensorTransformation extends ValidTextTransformation {
+public class CensorTransformation extends ValidTextTransformation implements BufferedTextTransformation {
 
     private final String asterisk = "*";
 
@@ -10,6 +10,10 @@ public class CensorTransformation extends ValidTextTransformation {
         this.wordToReplace = wordToReplace;
     }
 
+    public String getWordToReplace() {
+        return wordToReplace;
+    }
+
     @Override
     public String transform(String text) {
         validateText(text);
@@ -20,4 +24,22 @@ public class CensorTransformation extends ValidTextTransformation {
 
         return text.replace(wordToReplace, asterisk.repeat(wordToReplace.length()));
     }
+
+    // Masks have the length of the word, so the text is changed in place
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        if (wordToReplace == null || wordToReplace.isBlank() || wordToReplace.isEmpty()) {
+            return;
+        }
+
+        StringBuilder text = buffer.text();
+        int index = text.indexOf(wordToReplace);
+
+        while (index >= 0) {
+            for (int i = index; i < index + wordToReplace.length(); i++) {
+                text.setCharAt(i, asterisk.charAt(0));
+            }
+            index = text.indexOf(wordToReplace, index + wordToReplace.length());
+        }
+    }
 }
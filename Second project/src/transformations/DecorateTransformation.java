@@ -1,10 +1,17 @@
 package transformations;
 
-public class DecorateTransformation extends ValidTextTransformation {
+public class DecorateTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     @Override
     public String transform(String text) {
         validateText(text);
 
         return "-={ " + text + " }=-";
     }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        StringBuilder text = buffer.text();
+        buffer.spare().append("-={ ").append(text).append(" }=-");
+        buffer.swap();
+    }
 }
@@ -0,0 +1,127 @@
+package transformations;
+
+import transformations.matching.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces and censors the words of a dictionary in one pass. At every position the longest word starting
+// there wins and the text continues after it, so the result does not depend on the order of the rules.
+// A word which is both replaced and censored is censored.
+public class DictionaryTransformation extends ValidTextTransformation implements BufferedTextTransformation {
+
+    private final String asterisk = "*";
+
+    private final AhoCorasick automaton;
+
+    // Replacement of every word, null for the censored ones
+    private final String[] replacements;
+
+    public DictionaryTransformation(Map<String, String> wordsToReplace, Collection<String> wordsToCensor) {
+        Map<String, String> rules = new LinkedHashMap<>();
+
+        wordsToReplace.forEach((word, replacement) -> {
+            if (isValid(word) && isValid(replacement)) {
+                rules.put(word, replacement);
+            }
+        });
+
+        for (String word : wordsToCensor) {
+            if (isValid(word)) {
+                rules.put(word, null);
+            }
+        }
+
+        automaton = AhoCorasick.build(new ArrayList<>(rules.keySet()));
+        replacements = rules.values().toArray(new String[0]);
+    }
+
+    // Fuses replace and censor transformations into one dictionary
+    public static DictionaryTransformation of(Collection<? extends TextTransformation> transformations) {
+        Map<String, String> wordsToReplace = new LinkedHashMap<>();
+        List<String> wordsToCensor = new ArrayList<>();
+
+        for (TextTransformation transformation : transformations) {
+            if (transformation instanceof ReplaceTransformation replace) {
+                wordsToReplace.put(replace.getWordToReplace(), replace.getReplacement());
+            } else if (transformation instanceof CensorTransformation censor) {
+                wordsToCensor.add(censor.getWordToReplace());
+            } else {
+                throw new IllegalArgumentException("Only replace and censor transformations can be fused!");
+            }
+        }
+
+        return new DictionaryTransformation(wordsToReplace, wordsToCensor);
+    }
+
+    private static boolean isValid(String word) {
+        return word != null && !word.isBlank() && !word.isEmpty();
+    }
+
+    @Override
+    public String transform(String text) {
+        validateText(text);
+
+        StringBuilder result = new StringBuilder(text.length());
+
+        return apply(text, result) ? result.toString() : text;
+    }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        if (apply(buffer.text(), buffer.spare())) {
+            buffer.swap();
+        }
+    }
+
+    // Writes the transformed text into the result and tells whether anything matched
+    private boolean apply(CharSequence text, StringBuilder result) {
+        // One more than the longest word starting at a position, 0 when none starts there
+        int[] longest = new int[text.length()];
+
+        automaton.forEachMatch(text, (word, start, end) -> {
+            int current = longest[start];
+            if (current == 0 || automaton.patternLength(word) > automaton.patternLength(current - 1)) {
+                longest[start] = word + 1;
+            }
+        });
+
+        int copied = 0;
+        int position = 0;
+
+        while (position < text.length()) {
+            if (longest[position] == 0) {
+                position++;
+                continue;
+            }
+
+            int word = longest[position] - 1;
+            int length = automaton.patternLength(word);
+            result.append(text, copied, position);
+
+            if (replacements[word] == null) {
+                result.append(asterisk.repeat(length));
+            } else {
+                result.append(replacements[word]);
+            }
+
+            position += length;
+            copied = position;
+        }
+
+        if (copied == 0) {
+            return false;
+        }
+
+        result.append(text, copied, text.length());
+
+        return true;
+    }
+
+    public int size() {
+        return replacements.length;
+    }
+}
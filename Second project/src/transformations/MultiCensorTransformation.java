@@ -0,0 +1,121 @@
+package transformations;
+
+import transformations.matching.AhoCorasick;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Censors every word of a dictionary in one pass over the text. Every word masks the occurrences
+// a CensorTransformation of it would mask in the same text, so the result does not depend on
+// the order of the words.
+public class MultiCensorTransformation extends ValidTextTransformation implements BufferedTextTransformation {
+
+    private final String asterisk = "*";
+
+    private final AhoCorasick automaton;
+
+    // Words like "aa" or "abab" whose occurrences can overlap each other
+    private final BitSet selfOverlapping;
+
+    public MultiCensorTransformation(Collection<String> wordsToReplace) {
+        List<String> words = wordsToReplace.stream()
+            .filter(word -> word != null && !word.isBlank() && !word.isEmpty())
+            .distinct()
+            .toList();
+
+        automaton = AhoCorasick.build(words);
+        selfOverlapping = new BitSet(words.size());
+
+        for (int i = 0; i < words.size(); i++) {
+            if (hasBorder(words.get(i))) {
+                selfOverlapping.set(i);
+            }
+        }
+    }
+
+    // Whether a proper prefix of the word is also its suffix (KMP prefix function)
+    private static boolean hasBorder(String word) {
+        int[] prefix = new int[word.length()];
+
+        for (int i = 1; i < word.length(); i++) {
+            int border = prefix[i - 1];
+            while (border > 0 && word.charAt(i) != word.charAt(border)) {
+                border = prefix[border - 1];
+            }
+            prefix[i] = word.charAt(i) == word.charAt(border) ? border + 1 : border;
+        }
+
+        return prefix.length > 0 && prefix[prefix.length - 1] > 0;
+    }
+
+    @Override
+    public String transform(String text) {
+        validateText(text);
+
+        Masking masking = new Masking(text, null);
+        automaton.forEachMatch(text, masking);
+
+        return masking.masked == null ? text : masking.masked.toString();
+    }
+
+    // A match ends at the character just read, so masking the text while it is scanned is safe
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        automaton.forEachMatch(buffer.text(), new Masking(buffer.text(), buffer.text()));
+    }
+
+    // The matches come in the order of their ends, so an occurrence of a word starting before the end of
+    // its previous occurrence overlaps it and is skipped like String.replace does. A match only masks
+    // the parts outside of the last masked run.
+    private final class Masking implements AhoCorasick.MatchConsumer {
+        private final CharSequence text;
+        private Map<Integer, Integer> previousEnds;
+        // Last masked run, earlier words end before it but a longer one can start before it
+        private int runStart;
+        private int runEnd;
+        private StringBuilder masked;
+
+        // Without a builder to mask, the text is copied on the first match
+        private Masking(CharSequence text, StringBuilder masked) {
+            this.text = text;
+            this.masked = masked;
+        }
+
+        @Override
+        public void accept(int word, int start, int end) {
+            if (selfOverlapping.get(word)) {
+                if (previousEnds == null) {
+                    previousEnds = new HashMap<>();
+                }
+
+                if (start < previousEnds.getOrDefault(word, 0)) {
+                    return;
+                }
+                previousEnds.put(word, end);
+            }
+
+            if (masked == null) {
+                masked = new StringBuilder(text);
+            }
+
+            if (start > runEnd) {
+                runStart = start;
+                mask(start, end);
+            } else {
+                mask(start, Math.min(runStart, end));
+                mask(Math.max(start, runEnd), end);
+                runStart = Math.min(runStart, start);
+            }
+            runEnd = end;
+        }
+
+        private void mask(int from, int to) {
+            for (int i = from; i < to; i++) {
+                masked.setCharAt(i, asterisk.charAt(0));
+            }
+        }
+    }
+}
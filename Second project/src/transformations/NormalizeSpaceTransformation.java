@@ -3,7 +3,7 @@ package transformations;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
-public class NormalizeSpaceTransformation extends ValidTextTransformation {
+public class NormalizeSpaceTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     @Override
     public String transform(String text) {
         validateText(text);
@@ -18,4 +18,51 @@ public class NormalizeSpaceTransformation extends ValidTextTransformation {
         return (isFirstCharASpace ? " " : "") +
             result + (isLastCharASpace ? " " : "");
     }
+
+    // Same as splitting on spaces and joining the words which are not blank
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        StringBuilder text = buffer.text();
+        StringBuilder result = buffer.spare();
+
+        if (Character.isSpaceChar(text.charAt(0))) {
+            result.append(' ');
+        }
+
+        boolean anyWord = false;
+        int wordStart = 0;
+
+        while (wordStart <= text.length()) {
+            int wordEnd = text.indexOf(" ", wordStart);
+            if (wordEnd < 0) {
+                wordEnd = text.length();
+            }
+
+            if (!isBlank(text, wordStart, wordEnd)) {
+                if (anyWord) {
+                    result.append(' ');
+                }
+                result.append(text, wordStart, wordEnd);
+                anyWord = true;
+            }
+
+            wordStart = wordEnd + 1;
+        }
+
+        if (Character.isSpaceChar(text.charAt(text.length() - 1))) {
+            result.append(' ');
+        }
+
+        buffer.swap();
+    }
+
+    private static boolean isBlank(StringBuilder text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
@@ -1,7 +1,7 @@
 package transformations;
 
-// TODO: how can I combine replace with censor
-public class ReplaceTransformation extends ValidTextTransformation {
+// DictionaryTransformation combines many replace and censor rules into one pass
+public class ReplaceTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     private final String wordToReplace;
 
     private final String replacement;
@@ -18,6 +18,14 @@ public class ReplaceTransformation extends ValidTextTransformation {
         }
     }
 
+    public String getWordToReplace() {
+        return wordToReplace;
+    }
+
+    public String getReplacement() {
+        return replacement;
+    }
+
     @Override
     public String transform(String text) {
         validateText(text);
@@ -28,4 +36,30 @@ public class ReplaceTransformation extends ValidTextTransformation {
 
         return text.replace(wordToReplace, replacement);
     }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        if (wordToReplace == null || wordToReplace.isBlank() || wordToReplace.isEmpty() || replacement == null) {
+            return;
+        }
+
+        StringBuilder text = buffer.text();
+        int index = text.indexOf(wordToReplace);
+
+        if (index < 0) {
+            return;
+        }
+
+        StringBuilder result = buffer.spare();
+        int copied = 0;
+
+        while (index >= 0) {
+            result.append(text, copied, index).append(replacement);
+            copied = index + wordToReplace.length();
+            index = text.indexOf(wordToReplace, copied);
+        }
+
+        result.append(text, copied, text.length());
+        buffer.swap();
+    }
 }
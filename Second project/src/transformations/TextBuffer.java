@@ -0,0 +1,33 @@
+package transformations;
+
+// Text of a transformation chain together with a spare builder, transformations which can't change
+// the text in place write into the spare one and swap them, so the chain never allocates per step
+public final class TextBuffer {
+    private StringBuilder text;
+    private StringBuilder spare;
+
+    public TextBuffer() {
+        text = new StringBuilder();
+        spare = new StringBuilder();
+    }
+
+    public StringBuilder text() {
+        return text;
+    }
+
+    public StringBuilder spare() {
+        spare.setLength(0);
+        return spare;
+    }
+
+    public void swap() {
+        StringBuilder previous = text;
+        text = spare;
+        spare = previous;
+    }
+
+    public void reset(String value) {
+        text.setLength(0);
+        text.append(value);
+    }
+}
@@ -1,6 +1,6 @@
 package transformations;
 
-public class TrimLeftTransformation extends ValidTextTransformation {
+public class TrimLeftTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     @Override
     public String transform(String text) {
         validateText(text);
@@ -10,4 +10,12 @@ public class TrimLeftTransformation extends ValidTextTransformation {
 
         return text;
     }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        StringBuilder text = buffer.text();
+        if (Character.isWhitespace(text.charAt(0))) {
+            text.deleteCharAt(0);
+        }
+    }
 }
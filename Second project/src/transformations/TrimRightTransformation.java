@@ -1,6 +1,6 @@
 package transformations;
 
-public class TrimRightTransformation extends ValidTextTransformation {
+public class TrimRightTransformation extends ValidTextTransformation implements BufferedTextTransformation {
     @Override
     public String transform(String text) {
         validateText(text);
@@ -10,4 +10,18 @@ public class TrimRightTransformation extends ValidTextTransformation {
 
         return text;
     }
+
+    @Override
+    public void transformInPlace(TextBuffer buffer) {
+        StringBuilder text = buffer.text();
+        if (Character.isSpaceChar(text.charAt(text.length() - 1))) {
+            text.setLength(text.length() - 1);
+        }
+    }
+
+    // Space characters such as no-break space are not white space, removing the last one can leave nothing
+    @Override
+    public boolean keepsTextValid() {
+        return false;
+    }
 }
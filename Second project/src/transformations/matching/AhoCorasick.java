@@ -0,0 +1,194 @@
+package transformations.matching;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Aho-Corasick automaton over a list of patterns. One pass over a text finds every occurrence of every
+// pattern, in the order of their ends. The automaton never changes after it is built, so it can be shared
+// by any number of threads.
+public final class AhoCorasick {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(int pattern, int start, int end);
+    }
+
+    private final Transitions transitions;
+    private final int[] failure;
+    // Pattern ending in the node and the nearest node on the failure chain which ends a pattern
+    private final int[] output;
+    private final int[] dictionaryLink;
+    private final int[] patternLengths;
+
+    private AhoCorasick(Transitions transitions, int[] failure, int[] output, int[] dictionaryLink,
+                        int[] patternLengths) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.output = output;
+        this.dictionaryLink = dictionaryLink;
+        this.patternLengths = patternLengths;
+    }
+
+    // Empty patterns never match, a repeated pattern is reported under its first index
+    public static AhoCorasick build(List<String> patterns) {
+        int maxNodes = 1;
+        for (String pattern : patterns) {
+            maxNodes += pattern.length();
+        }
+
+        Transitions transitions = new Transitions(maxNodes);
+        int[] output = new int[maxNodes];
+        int[] firstChild = new int[maxNodes];
+        int[] nextSibling = new int[maxNodes];
+        char[] edge = new char[maxNodes];
+        Arrays.fill(output, NONE);
+        Arrays.fill(firstChild, NONE);
+
+        int nodes = 1;
+        int[] patternLengths = new int[patterns.size()];
+
+        for (int index = 0; index < patterns.size(); index++) {
+            String pattern = patterns.get(index);
+            patternLengths[index] = pattern.length();
+
+            if (pattern.isEmpty()) {
+                continue;
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char current = pattern.charAt(i);
+                int child = transitions.get(node, current);
+
+                if (child == NONE) {
+                    child = nodes++;
+                    transitions.put(node, current, child);
+                    edge[child] = current;
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+                node = child;
+            }
+
+            if (output[node] == NONE) {
+                output[node] = index;
+            }
+        }
+
+        int[] failure = new int[nodes];
+        int[] dictionaryLink = new int[nodes];
+        dictionaryLink[ROOT] = NONE;
+
+        // Breadth first, so the failure of a node is known before its children need it
+        int[] queue = new int[nodes];
+        int head = 0;
+        int tail = 0;
+
+        for (int child = firstChild[ROOT]; child != NONE; child = nextSibling[child]) {
+            failure[child] = ROOT;
+            dictionaryLink[child] = NONE;
+            queue[tail++] = child;
+        }
+
+        while (head < tail) {
+            int node = queue[head++];
+
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                int fallback = failure[node];
+                int target = transitions.get(fallback, edge[child]);
+
+                while (target == NONE && fallback != ROOT) {
+                    fallback = failure[fallback];
+                    target = transitions.get(fallback, edge[child]);
+                }
+
+                failure[child] = target == NONE ? ROOT : target;
+                dictionaryLink[child] = output[failure[child]] != NONE ? failure[child] :
+                    dictionaryLink[failure[child]];
+                queue[tail++] = child;
+            }
+        }
+
+        return new AhoCorasick(transitions, failure, Arrays.copyOf(output, nodes), dictionaryLink, patternLengths);
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    public int patternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    public void forEachMatch(CharSequence text, MatchConsumer matches) {
+        int node = ROOT;
+
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            int next = transitions.get(node, current);
+
+            while (next == NONE && node != ROOT) {
+                node = failure[node];
+                next = transitions.get(node, current);
+            }
+            node = next == NONE ? ROOT : next;
+
+            int match = output[node] != NONE ? node : dictionaryLink[node];
+            while (match != NONE) {
+                int pattern = output[match];
+                matches.accept(pattern, i + 1 - patternLengths[pattern], i + 1);
+                match = dictionaryLink[match];
+            }
+        }
+    }
+
+    // Open addressing table from a node and a character to the next node
+    private static final class Transitions {
+        private final long[] keys;
+        private final int[] targets;
+        private final int mask;
+
+        Transitions(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            targets = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(targets, NONE);
+        }
+
+        private static long keyOf(int node, char character) {
+            return ((long) node << 16) | character;
+        }
+
+        private int slotOf(long key) {
+            long hash = key * 0x9e3779b97f4a7c15L;
+            return (int) (hash >>> 32) & mask;
+        }
+
+        int get(int node, char character) {
+            long key = keyOf(node, character);
+
+            for (int slot = slotOf(key); targets[slot] != NONE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return targets[slot];
+                }
+            }
+
+            return NONE;
+        }
+
+        void put(int node, char character, int target) {
+            long key = keyOf(node, character);
+            int slot = slotOf(key);
+
+            while (targets[slot] != NONE) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            targets[slot] = target;
+        }
+    }
+}
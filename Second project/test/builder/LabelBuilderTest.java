@@ -1,6 +1,8 @@
 package builder;
 
+import cache.RenderCache;
 import decorators.DecoratorType;
+import decorators.LabelDecoratorBase;
 import decorators.TextTransformationDecorator;
 import label.Label;
 import label.RichLabel;
@@ -8,9 +10,12 @@ import label.SimpleLabel;
 import label.help.HelpLabel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import transformations.CapitalizeTransformation;
+import transformations.DecorateTransformation;
 import transformations.TextTransformation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -116,4 +121,25 @@ public class LabelBuilderTest {
         assertEquals(helpText, ((HelpLabel)label).getHelpText(),
             "Should return help text correctly!");
     }
+
+    @Test
+    void testIfDecoratorIsRemovedFromCachedLabel() {
+        Label label = labelBuilder
+            .setText("test")
+            .addTransformation(new CapitalizeTransformation())
+            .addTransformation(new DecorateTransformation())
+            .setDecoratorType(DecoratorType.SINGLE)
+            .setRenderCache(new RenderCache())
+            .build();
+
+        assertEquals("-={ Test }=-", label.getText(), "Cached label should be rendered!");
+
+        Label removed = LabelDecoratorBase.removeDecoratorFrom(label, TextTransformationDecorator.class);
+
+        assertSame(label, removed, "Cached label should stay the outermost label!");
+        assertEquals("Test", removed.getText(), "Removed outermost decorator should not be applied anymore!");
+
+        LabelDecoratorBase.removeDecoratorFrom(removed, TextTransformationDecorator.class);
+        assertEquals("test", removed.getText(), "Removed last decorator should not be applied anymore!");
+    }
 }
@@ -0,0 +1,94 @@
+package cache;
+
+import decorators.CyclingTransformationsDecorator;
+import decorators.LabelDecoratorBase;
+import decorators.TextTransformationDecorator;
+import decorators.composite.CompositeTransformationDecorator;
+import label.Label;
+import label.SimpleLabel;
+import org.junit.jupiter.api.Test;
+import transformations.CapitalizeTransformation;
+import transformations.DecorateTransformation;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderCacheTest {
+
+    @Test
+    void testIfDeterministicChainIsRenderedOnce() {
+        AtomicInteger renders = new AtomicInteger();
+        TextTransformation counting = text -> {
+            renders.incrementAndGet();
+            return text + "!";
+        };
+
+        RenderCache cache = new RenderCache();
+        Label label = new CachedLabel(new TextTransformationDecorator(
+            new TextTransformationDecorator(new SimpleLabel("test"), new CapitalizeTransformation()), counting), cache);
+
+        assertEquals("Test!", label.getText(), "Chain should be rendered!");
+        assertEquals("Test!", label.getText(), "Cached text should be returned!");
+        assertEquals(1, renders.get(), "Chain should be rendered only once!");
+        assertEquals(1, cache.getHitCount(), "Second render should hit the cache!");
+    }
+
+    @Test
+    void testIfChangedChainIsRenderedAgain() {
+        RenderCache cache = new RenderCache();
+        CompositeTransformationDecorator composite = new CompositeTransformationDecorator(new SimpleLabel("test"),
+            List.of(new CapitalizeTransformation()));
+        TextTransformationDecorator decorated = new TextTransformationDecorator(composite,
+            new DecorateTransformation());
+        Label label = new CachedLabel(decorated, cache);
+
+        assertEquals("-={ Test }=-", label.getText(), "Chain should be rendered!");
+
+        composite.setTextTransformation(List.of(new ReplaceTransformation("t", "d")));
+        assertEquals("-={ desd }=-", label.getText(), "Changed inner transformation should be applied!");
+
+        decorated.removeDecorator(CompositeTransformationDecorator.class);
+        assertEquals("-={ test }=-", label.getText(), "Removed decorator should not be applied anymore!");
+    }
+
+    @Test
+    void testIfCyclingChainBypassesCache() {
+        RenderCache cache = new RenderCache();
+        LabelDecoratorBase cycling = new CyclingTransformationsDecorator(new SimpleLabel("test"),
+            List.of(new CapitalizeTransformation(), new DecorateTransformation()));
+        Label label = new CachedLabel(new TextTransformationDecorator(cycling, new ReplaceTransformation("e", "a")),
+            cache);
+
+        assertEquals("Tast", label.getText(), "First transformation should be applied!");
+        assertEquals("-={ tast }=-", label.getText(), "Second transformation should be applied!");
+        assertEquals(0, cache.size(), "Cycling chain should not be cached!");
+    }
+
+    @Test
+    void testIfCacheIsBoundedBySize() {
+        RenderCache cache = new RenderCache(2000);
+        Label hot = new CachedLabel(new TextTransformationDecorator(new SimpleLabel("hot"),
+            new CapitalizeTransformation()), cache);
+
+        hot.getText();
+        hot.getText();
+
+        for (int i = 0; i < 100; i++) {
+            new CachedLabel(new TextTransformationDecorator(new SimpleLabel("cold " + i),
+                new CapitalizeTransformation()), cache).getText();
+        }
+
+        assertTrue(cache.getWeight() <= 2000, "Cache should not grow over its size!");
+        assertTrue(cache.getEvictionCount() > 0, "Old texts should be evicted!");
+
+        long hits = cache.getHitCount();
+        hot.getText();
+
+        assertEquals(hits + 1, cache.getHitCount(), "Text rendered again should stay in the protected segment!");
+    }
+}
@@ -0,0 +1,68 @@
+package decorators;
+
+import label.SimpleLabel;
+import org.junit.jupiter.api.Test;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ConcurrentCyclingTransformationsDecoratorTest {
+    private final List<TextTransformation> transformations = List.of(
+        new ReplaceTransformation("text", "1"),
+        new ReplaceTransformation("text", "2"),
+        new ReplaceTransformation("text", "3")
+    );
+
+    @Test
+    public void testIfCyclingThroughTransformationsWorksCorrectly() {
+        ConcurrentCyclingTransformationsDecorator decorator =
+            new ConcurrentCyclingTransformationsDecorator(new SimpleLabel("text"), transformations);
+
+        assertEquals("1", decorator.getText(), "GetText should cycle through transformations!");
+        assertEquals("2", decorator.getText(), "GetText should cycle through transformations!");
+        assertEquals("3", decorator.getText(), "GetText should cycle through transformations!");
+        assertEquals("1", decorator.getText(), "GetText should cycle through transformations!");
+        assertFalse(decorator.isDeterministic(), "Cycling should not be deterministic!");
+    }
+
+    @Test
+    public void testIfSetTextTransformationResetsTheCycling() {
+        ConcurrentCyclingTransformationsDecorator decorator =
+            new ConcurrentCyclingTransformationsDecorator(new SimpleLabel("text"), transformations);
+
+        decorator.getText();
+        decorator.setTextTransformation(transformations.subList(1, 3));
+
+        assertEquals("2", decorator.getText(), "SetTextTransformation should reset the cycling!");
+    }
+
+    @Test
+    public void testIfConcurrentRenderingLosesNoPosition() throws Exception {
+        ConcurrentCyclingTransformationsDecorator decorator =
+            new ConcurrentCyclingTransformationsDecorator(new SimpleLabel("text"), transformations);
+        Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 3000; j++) {
+                        counts.computeIfAbsent(decorator.getText(), key -> new AtomicInteger()).incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        for (String text : List.of("1", "2", "3")) {
+            assertEquals(8000, counts.get(text).get(), "Every transformation should be used equally!");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package decorators;
+
+import label.SimpleLabel;
+import org.junit.jupiter.api.Test;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentRandomTransformationDecoratorTest {
+    private final List<TextTransformation> transformations = List.of(
+        new ReplaceTransformation("text", "1"),
+        new ReplaceTransformation("text", "2"),
+        new ReplaceTransformation("text", "3")
+    );
+
+    private List<String> render(ConcurrentRandomTransformationDecorator decorator, int count) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            texts.add(decorator.getText());
+        }
+
+        return texts;
+    }
+
+    @Test
+    public void testIfSameSeedGivesSameChoices() {
+        List<String> first = render(new ConcurrentRandomTransformationDecorator(new SimpleLabel("text"),
+            transformations, 42), 100);
+        List<String> second = render(new ConcurrentRandomTransformationDecorator(new SimpleLabel("text"),
+            transformations, 42), 100);
+
+        assertEquals(first, second, "Same seed should give the same choices!");
+        assertEquals(Set.of("1", "2", "3"), Set.copyOf(first), "Every transformation should be chosen!");
+    }
+
+    @Test
+    public void testIfSetTextTransformationUpdatesTransformations() {
+        ConcurrentRandomTransformationDecorator decorator =
+            new ConcurrentRandomTransformationDecorator(new SimpleLabel("text"), transformations, 1);
+
+        decorator.setTextTransformation(List.of(new ReplaceTransformation("text", "4")));
+
+        assertEquals("4", decorator.getText(), "SetTextTransformation should update transformations!");
+        assertFalse(decorator.isDeterministic(), "Random choice should not be deterministic!");
+    }
+
+    @Test
+    public void testIfConcurrentRenderingUsesAllTransformations() throws Exception {
+        ConcurrentRandomTransformationDecorator decorator =
+            new ConcurrentRandomTransformationDecorator(new SimpleLabel("text"), transformations, 7);
+        Set<String> texts = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> texts.addAll(render(decorator, 1000)));
+            }
+        }
+
+        assertTrue(texts.containsAll(Set.of("1", "2", "3")), "Every transformation should be chosen!");
+        assertEquals(3, texts.size(), "Only the transformations should be chosen!");
+    }
+}
@@ -0,0 +1,86 @@
+package decorators.composite;
+
+import org.junit.jupiter.api.Test;
+import transformations.CapitalizeTransformation;
+import transformations.CensorTransformation;
+import transformations.DecorateTransformation;
+import transformations.NormalizeSpaceTransformation;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+import transformations.TrimLeftTransformation;
+import transformations.TrimRightTransformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TransformationPipelineTest {
+
+    private final List<TextTransformation> transformations = List.of(
+        new CapitalizeTransformation(),
+        new CensorTransformation("ab"),
+        new DecorateTransformation(),
+        new NormalizeSpaceTransformation(),
+        new ReplaceTransformation("a", "xa"),
+        new ReplaceTransformation(" ", "_"),
+        new TrimLeftTransformation(),
+        new TrimRightTransformation(),
+        text -> text + "\u00A0");
+
+    private static String sequential(List<TextTransformation> chain, String text) {
+        for (TextTransformation transformation : chain) {
+            text = transformation.transform(text);
+        }
+
+        return text;
+    }
+
+    private static String resultOf(Supplier<String> render) {
+        try {
+            return render.get();
+        } catch (IllegalArgumentException ex) {
+            return "exception: " + ex.getMessage();
+        }
+    }
+
+    @Test
+    void testIfPipelineGivesSameTextAsSequentialChain() {
+        Random random = new Random(3);
+        String alphabet = "ab \t\u00A0c";
+
+        for (int i = 0; i < 20000; i++) {
+            List<TextTransformation> chain = new ArrayList<>();
+            for (int j = random.nextInt(6); j > 0; j--) {
+                chain.add(transformations.get(random.nextInt(transformations.size())));
+            }
+
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(6); j > 0; j--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            TransformationPipeline pipeline = TransformationPipeline.compile(chain);
+            String input = text.toString();
+
+            assertEquals(resultOf(() -> sequential(chain, input)), resultOf(() -> pipeline.transform(input)),
+                "Pipeline should give the same result as the chain " + chain + " for '" + input + "'!");
+        }
+    }
+
+    @Test
+    void testIfInvalidTextIsRejectedOnce() {
+        TransformationPipeline pipeline = TransformationPipeline.compile(
+            List.of(new TrimRightTransformation(), new CapitalizeTransformation()));
+
+        assertEquals("\u00A0", TransformationPipeline.compile(List.of(new CapitalizeTransformation()))
+            .transform("\u00A0"), "Non-breaking space is not blank!");
+        assertThrows(IllegalArgumentException.class, () -> pipeline.transform("\u00A0"),
+            "Text left empty by a transformation should be rejected by the next one!");
+        assertThrows(IllegalArgumentException.class, () -> pipeline.transform(null),
+            "Missing text should be rejected!");
+    }
+}
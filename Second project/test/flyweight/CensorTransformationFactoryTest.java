@@ -18,12 +18,18 @@ public class CensorTransformationFactoryTest {
     }
 
     @Test
-    public void testUniqueInstancesForLongWords() {
+    public void testSharedInstancesForLongWords() {
         String longWord = "lengthy";
         TextTransformation transformation1 = factory.getCensorTransformation(longWord);
         TextTransformation transformation2 = factory.getCensorTransformation(longWord);
 
-        assertNotSame(transformation1, transformation2, "Expected different instances for words longer than 4 characters.");
+        assertSame(transformation1, transformation2, "Expected the same instances for words longer than 4 characters.");
+    }
+
+    @Test
+    public void testUniqueInstancesForDifferentWords() {
+        assertNotSame(factory.getCensorTransformation("lengthy"), factory.getCensorTransformation("longer"),
+            "Expected different instances for different words.");
     }
 
     @Test
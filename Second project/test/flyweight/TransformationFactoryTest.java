@@ -0,0 +1,167 @@
+package flyweight;
+
+import org.junit.jupiter.api.Test;
+import transformations.CensorTransformation;
+import transformations.TextTransformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransformationFactoryTest {
+
+    @Test
+    public void testIfSameParametersShareInstance() {
+        TransformationFactory factory = new TransformationFactory();
+
+        assertSame(factory.getReplaceTransformation("a", "b"), factory.getReplaceTransformation("a", "b"),
+            "Same parameters should share the transformation!");
+        assertNotSame(factory.getReplaceTransformation("a", "b"), factory.getReplaceTransformation("a", "c"),
+            "Different parameters should not share the transformation!");
+        assertNotSame(factory.getCensorTransformation("a"), factory.getReplaceTransformation("a", null),
+            "Different types should not share the transformation!");
+        assertSame(factory.getCensorTransformation(List.of("a", "b")), factory.getCensorTransformation(Set.of("b", "a")),
+            "Same dictionary should share the transformation!");
+        assertSame(factory.getDictionaryTransformation(Map.of("a", "b"), List.of("c")),
+            factory.getDictionaryTransformation(Map.of("a", "b"), Set.of("c")),
+            "Same dictionary should share the transformation!");
+    }
+
+    @Test
+    public void testIfCountersAreKept() {
+        TransformationFactory factory = new TransformationFactory();
+
+        factory.getCensorTransformation("a");
+        factory.getCensorTransformation("a");
+        factory.getCensorTransformation("b");
+
+        assertEquals(1, factory.getHitCount(), "Hits don't match!");
+        assertEquals(2, factory.getMissCount(), "Misses don't match!");
+        assertEquals(2, factory.size(), "Size doesn't match!");
+    }
+
+    @Test
+    public void testIfSizeIsBounded() {
+        TransformationFactory factory = new TransformationFactory(3, false);
+
+        for (int i = 0; i < 100; i++) {
+            factory.getCensorTransformation("word" + i);
+        }
+
+        assertEquals(3, factory.size(), "Factory should not grow over its size!");
+        assertEquals(97, factory.getEvictionCount(), "Evictions don't match!");
+    }
+
+    @Test
+    public void testIfUsedEntryGetsSecondChance() {
+        TransformationFactory factory = new TransformationFactory(2, false);
+
+        TextTransformation used = factory.getCensorTransformation("a");
+        factory.getCensorTransformation("b");
+        factory.getCensorTransformation("a");
+        factory.getCensorTransformation("c");
+
+        assertSame(used, factory.getCensorTransformation("a"), "Used entry should not be evicted!");
+    }
+
+    @Test
+    public void testIfWeakValuesAreReturned() {
+        TransformationFactory factory = new TransformationFactory(10, true);
+        TextTransformation transformation = factory.getCensorTransformation("a");
+
+        assertSame(transformation, factory.getCensorTransformation("a"), "Reachable value should be shared!");
+        assertEquals("*", transformation.transform("a"), "Transformation doesn't match!");
+    }
+
+    @Test
+    public void testIfWeakOrderQueueStaysBounded() {
+        TransformationFactory factory = new TransformationFactory(4, true);
+
+        for (int i = 0; i < 20_000; i++) {
+            factory.getCensorTransformation("word" + (i % 2)).transform("word");
+
+            if (i % 1000 == 0) {
+                System.gc();
+            }
+            assertTrue(factory.queuedCount() <= 2 * 4 + 1, "Order queue should stay bounded!");
+        }
+    }
+
+    @Test
+    public void testIfInvalidWordsAreSkipped() {
+        TransformationFactory factory = new TransformationFactory();
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("a", "b");
+        replacements.put(null, "c");
+        replacements.put("d", null);
+
+        TextTransformation censor = factory.getCensorTransformation(Arrays.asList("bad", null, " "));
+        TextTransformation dictionary = factory.getDictionaryTransformation(replacements,
+            Arrays.asList("bad", null, ""));
+
+        assertSame(factory.getCensorTransformation(List.of("bad")), censor, "Invalid words should be skipped!");
+        assertSame(factory.getDictionaryTransformation(Map.of("a", "b"), List.of("bad")), dictionary,
+            "Invalid words and replacements should be skipped!");
+        assertEquals("*** b", dictionary.transform("bad a"), "Dictionary should apply the valid words!");
+    }
+
+    @Test
+    public void testIfCreatorCanUseFactory() {
+        TransformationFactory factory = new TransformationFactory();
+
+        TextTransformation outer = factory.get(CensorTransformation.class, () -> {
+            for (int i = 0; i < 64; i++) {
+                factory.getCensorTransformation("word" + i);
+            }
+            return new CensorTransformation("outer");
+        }, "outer");
+
+        assertEquals(65, factory.size(), "Transformations created by the creator should be stored!");
+        assertSame(outer, factory.get(CensorTransformation.class, () -> new CensorTransformation("outer"), "outer"),
+            "Transformation of the creator should be shared!");
+    }
+
+    @Test
+    public void testIfInvalidSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new TransformationFactory(0, false),
+            "Size of zero should throw!");
+    }
+
+    @Test
+    public void testIfConcurrentRequestsShareInstance() throws Exception {
+        TransformationFactory factory = new TransformationFactory();
+        Set<TextTransformation> seen = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        seen.add(factory.getReplaceTransformation("word", "other"));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(1, seen.size(), "All threads should get the same transformation!");
+        assertEquals(1, factory.size(), "Transformation should be stored once!");
+        assertEquals(1, factory.queuedCount(), "Transformation should be queued once!");
+    }
+}
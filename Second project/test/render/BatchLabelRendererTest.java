@@ -0,0 +1,220 @@
+package render;
+
+import builder.LabelBuilder;
+import decorators.CyclingTransformationsDecorator;
+import decorators.DecoratorType;
+import decorators.TextTransformationDecorator;
+import label.Label;
+import label.SimpleLabel;
+import org.junit.jupiter.api.Test;
+import transformations.CapitalizeTransformation;
+import transformations.CensorTransformation;
+import transformations.ReplaceTransformation;
+import transformations.TextTransformation;
+import transformations.TrimLeftTransformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchLabelRendererTest {
+
+    private static Label composite(String text) {
+        return new LabelBuilder().setText(text)
+            .addTransformation(new TrimLeftTransformation())
+            .addTransformation(new CapitalizeTransformation())
+            .addTransformation(new CensorTransformation("bad"))
+            .setDecoratorType(DecoratorType.COMPOSITE)
+            .build();
+    }
+
+    @Test
+    public void testIfBatchMatchesRenderingInLoop() {
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            labels.add(composite("  bad label " + i));
+        }
+
+        String[] output = new String[labels.size()];
+        BatchLabelRenderer.Report report;
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer(ForkJoinPool.commonPool(), 64)) {
+            report = renderer.render(labels, output);
+        }
+
+        for (int i = 0; i < labels.size(); i++) {
+            assertEquals(labels.get(i).getText(), output[i], "Rendered text doesn't match!");
+        }
+        assertEquals(5000, report.count(), "Count doesn't match!");
+        assertEquals(0, report.sequentialCount(), "Deterministic labels should render in parallel!");
+        assertTrue(report.getLabelsPerSecond() > 0, "Throughput should be reported!");
+    }
+
+    @Test
+    public void testIfStatefulLabelsKeepSequentialOrder() {
+        List<TextTransformation> transformations = List.of(
+            new ReplaceTransformation("x", "1"),
+            new ReplaceTransformation("x", "2"),
+            new ReplaceTransformation("x", "3")
+        );
+        CyclingTransformationsDecorator cycling = new CyclingTransformationsDecorator(new SimpleLabel("x"),
+            transformations);
+
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            labels.add(i % 3 == 0 ? new SimpleLabel("plain") : cycling);
+        }
+
+        String[] output = new String[labels.size()];
+        BatchLabelRenderer.Report report;
+        try (BatchLabelRenderer renderer = BatchLabelRenderer.withVirtualThreads()) {
+            report = renderer.render(labels, output);
+        }
+
+        assertArrayEquals(new String[]{"plain", "1", "2", "plain", "3", "1", "plain", "2", "3"}, output,
+            "Stateful labels should render in the order of the batch!");
+        assertEquals(6, report.sequentialCount(), "Stateful labels should render sequentially!");
+    }
+
+    @Test
+    public void testIfTemplateIsAppliedToInputs() {
+        Label template = new TextTransformationDecorator(
+            new TextTransformationDecorator(new SimpleLabel("ignored"), new CapitalizeTransformation()),
+            new ReplaceTransformation("A", "B"));
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            inputs.add("a" + i);
+        }
+
+        String[] output = new String[inputs.size()];
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer()) {
+            renderer.render(template, inputs, output);
+        }
+
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals("B" + i, output[i], "Template should be applied to the input!");
+        }
+    }
+
+    @Test
+    public void testIfBuiltTemplateWithoutTextRendersInParallel() {
+        Label template = new LabelBuilder()
+            .addTransformation(new CapitalizeTransformation())
+            .addTransformation(new ReplaceTransformation("A", "B"))
+            .setDecoratorType(DecoratorType.COMPOSITE)
+            .build();
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            inputs.add("a" + i);
+        }
+
+        String[] output = new String[inputs.size()];
+        BatchLabelRenderer.Report report;
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer()) {
+            report = renderer.render(template, inputs, output);
+        }
+
+        assertEquals(0, report.sequentialCount(), "Template without text should render in parallel!");
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals("B" + i, output[i], "Template should be applied to the input!");
+        }
+    }
+
+    @Test
+    public void testIfStatefulTemplateRendersInOrder() {
+        List<TextTransformation> transformations = List.of(
+            new ReplaceTransformation("x", "1"),
+            new ReplaceTransformation("x", "2")
+        );
+        Label template = new CyclingTransformationsDecorator(new SimpleLabel("ignored"), transformations);
+        List<String> results = new ArrayList<>();
+
+        BatchLabelRenderer.Report report;
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer()) {
+            report = renderer.render(template, List.of("x", "x", "x"), (index, text) -> results.add(text));
+        }
+
+        assertEquals(List.of("1", "2", "1"), results, "Stateful template should render in order!");
+        assertEquals(3, report.sequentialCount(), "Stateful template should render sequentially!");
+    }
+
+    @Test
+    public void testIfSmallOutputThrows() {
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer()) {
+            assertThrows(IllegalArgumentException.class,
+                () -> renderer.render(List.of(new SimpleLabel("a"), new SimpleLabel("b")), new String[1]),
+                "Too small output should throw!");
+        }
+    }
+
+    @Test
+    public void testIfRenderingErrorIsRethrown() {
+        Label failing = () -> {
+            throw new IllegalStateException("failed");
+        };
+
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer()) {
+            assertThrows(IllegalStateException.class, () -> renderer.render(List.of(failing), new String[1]),
+                "Error of a label should be rethrown!");
+        }
+    }
+
+    @Test
+    public void testIfCallersExecutorIsNotClosed() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            try (BatchLabelRenderer renderer = new BatchLabelRenderer(executor, 4)) {
+                renderer.render(List.of(new SimpleLabel("a")), new String[1]);
+            }
+
+            assertFalse(executor.isShutdown(), "Executor of the caller should stay open!");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIfNothingIsWrittenAfterSequentialError() throws InterruptedException {
+        Label failing = () -> {
+            throw new IllegalStateException("failed");
+        };
+        Label slow = () -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        };
+
+        List<Label> labels = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            labels.add(slow);
+        }
+        labels.add(new CyclingTransformationsDecorator(failing, List.of(new CapitalizeTransformation())));
+
+        AtomicInteger written = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (BatchLabelRenderer renderer = new BatchLabelRenderer(executor, 10)) {
+            assertThrows(IllegalStateException.class,
+                () -> renderer.render(labels, (index, text) -> written.incrementAndGet()),
+                "Error of a sequential label should be rethrown!");
+
+            int writtenOnError = written.get();
+            Thread.sleep(50);
+            assertEquals(writtenOnError, written.get(), "Chunks should not write after the error!");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
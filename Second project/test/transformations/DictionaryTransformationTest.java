@@ -0,0 +1,116 @@
+package transformations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DictionaryTransformationTest {
+
+    // Tries every word at every position and takes the longest one
+    private static String leftmostLongest(Map<String, String> wordsToReplace, Set<String> wordsToCensor,
+                                          String text) {
+        StringBuilder result = new StringBuilder();
+        int position = 0;
+
+        while (position < text.length()) {
+            String longest = null;
+
+            for (String word : wordsToReplace.keySet()) {
+                if (text.startsWith(word, position) && (longest == null || word.length() > longest.length())) {
+                    longest = word;
+                }
+            }
+            for (String word : wordsToCensor) {
+                if (text.startsWith(word, position) && (longest == null || word.length() > longest.length())) {
+                    longest = word;
+                }
+            }
+
+            if (longest == null) {
+                result.append(text.charAt(position++));
+            } else {
+                result.append(wordsToCensor.contains(longest) ? "*".repeat(longest.length())
+                    : wordsToReplace.get(longest));
+                position += longest.length();
+            }
+        }
+
+        return result.toString();
+    }
+
+    @Test
+    void testIfLongestWordWins() {
+        DictionaryTransformation dictionary = new DictionaryTransformation(
+            Map.of("cat", "dog", "category", "group"), List.of("cat food"));
+
+        assertEquals("A group of dog and ********", dictionary.transform("A category of cat and cat food"),
+            "Longest word starting at a position should be applied!");
+    }
+
+    @Test
+    void testIfRulesAreAppliedOnceAndNotChained() {
+        DictionaryTransformation dictionary = new DictionaryTransformation(Map.of("a", "b", "b", "a"), List.of());
+
+        assertEquals("ba", dictionary.transform("ab"), "Replacements should not be replaced again!");
+    }
+
+    @Test
+    void testIfReplaceAndCensorTransformationsAreFused() {
+        DictionaryTransformation dictionary = DictionaryTransformation.of(List.of(
+            new ReplaceTransformation("bad", "good"), new CensorTransformation("bad"),
+            new CensorTransformation("ugly"), new ReplaceTransformation(" ", "")));
+
+        assertEquals(2, dictionary.size(), "Invalid rules should be skipped!");
+        assertEquals("*** and ****", dictionary.transform("bad and ugly"), "Censored word should be censored!");
+        assertThrows(IllegalArgumentException.class,
+            () -> DictionaryTransformation.of(List.of(new DecorateTransformation())),
+            "Only replace and censor transformations should be fused!");
+    }
+
+    @Test
+    void testIfLargeDictionaryMatchesNaiveScan() {
+        Random random = new Random(9);
+        Map<String, String> wordsToReplace = new HashMap<>();
+        Set<String> wordsToCensor = new HashSet<>();
+
+        while (wordsToReplace.size() + wordsToCensor.size() < 10000) {
+            String word = randomWord(random, 2 + random.nextInt(6));
+            if (word.isBlank()) {
+                continue;
+            }
+
+            if (random.nextInt(4) == 0) {
+                wordsToCensor.add(word);
+                wordsToReplace.remove(word);
+            } else if (!wordsToCensor.contains(word)) {
+                wordsToReplace.put(word, "<" + word.toUpperCase() + ">");
+            }
+        }
+
+        DictionaryTransformation dictionary = new DictionaryTransformation(wordsToReplace, wordsToCensor);
+
+        for (int i = 0; i < 200; i++) {
+            String text = "x" + randomWord(random, 200);
+
+            assertEquals(leftmostLongest(wordsToReplace, wordsToCensor, text), dictionary.transform(text),
+                "Dictionary should give the same text as a naive leftmost-longest scan!");
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append("abcde ".charAt(random.nextInt(6)));
+        }
+
+        return word.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package transformations;
+
+import flyweight.CensorTransformationFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MultiCensorTransformationTest {
+
+    // Every word censors the original text on its own and the masks are merged
+    private static String censorEachWord(List<String> words, String text) {
+        char[] expected = text.toCharArray();
+
+        for (String word : words) {
+            String censored = new CensorTransformation(word).transform(text);
+            for (int i = 0; i < expected.length; i++) {
+                if (censored.charAt(i) == '*') {
+                    expected[i] = '*';
+                }
+            }
+        }
+
+        return new String(expected);
+    }
+
+    @Test
+    void testIfAllWordsAreCensoredInOnePass() {
+        MultiCensorTransformation censor = new MultiCensorTransformation(List.of("he", "she", "his", "hers"));
+
+        assertEquals("u***** and *** ***ep", censor.transform("ushers and his sheep"),
+            "Every word of the dictionary should be censored!");
+    }
+
+    @Test
+    void testIfOverlappingOccurrencesAreCensoredLikeSingleWord() {
+        MultiCensorTransformation censor = new MultiCensorTransformation(List.of("aa"));
+
+        assertEquals(new CensorTransformation("aa").transform("aaaa a aaa"), censor.transform("aaaa a aaa"),
+            "Occurrences of one word should be censored like String.replace does!");
+    }
+
+    @Test
+    void testIfRandomDictionariesMatchSeparateCensors() {
+        Random random = new Random(5);
+
+        for (int i = 0; i < 5000; i++) {
+            List<String> words = new ArrayList<>();
+            for (int j = random.nextInt(5); j >= 0; j--) {
+                words.add(randomText(random, 1 + random.nextInt(3)));
+            }
+
+            String text = "x" + randomText(random, random.nextInt(20));
+            MultiCensorTransformation censor = new MultiCensorTransformation(words);
+            TextBuffer buffer = new TextBuffer();
+            buffer.reset(text);
+            censor.transformInPlace(buffer);
+
+            assertEquals(censorEachWord(words, text), censor.transform(text),
+                "Dictionary " + words + " should censor '" + text + "' like separate censors!");
+            assertEquals(censor.transform(text), buffer.text().toString(),
+                "Buffer should be censored like the text!");
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append("ab ".charAt(random.nextInt(3)));
+        }
+
+        return text.toString();
+    }
+
+    @Test
+    void testIfInvalidTextThrows() {
+        MultiCensorTransformation censor = new MultiCensorTransformation(List.of("word"));
+
+        assertThrows(IllegalArgumentException.class, () -> censor.transform(" "),
+            "Blank text should be rejected!");
+    }
+
+    @Test
+    void testIfFactorySharesDictionaries() {
+        CensorTransformationFactory factory = new CensorTransformationFactory();
+
+        assertSame(factory.getCensorTransformation(List.of("bad", "worse")),
+            factory.getCensorTransformation(List.of("worse", "bad")),
+            "Same dictionary should give the same censor!");
+    }
+}